@@ -0,0 +1,62 @@
+package com.self.AOP.practice.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.self.AOP.practice.logging.CorrelationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Cost of the request-scoped correlation context for one request that logs LINES lines:
+ * binding the ID, the per-event work the async appender and the encoder do to read it back,
+ * and unbinding. MDC is the 'correlation.id.mdc-compatible=true' path (holder and MDC),
+ * CONTEXT the holder alone. Event creation itself is the same in both and included.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=CorrelationContextBenchmark
+ */
+@State(Scope.Thread)
+public class CorrelationContextBenchmark {
+
+    private static final int LINES = 10;
+    private static final String CORRELATION_ID = "4f9c2a7e1b3d5f60";
+
+    public enum Mode {
+        MDC, CONTEXT
+    }
+
+    @Param
+    private Mode mode;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(CorrelationContextBenchmark.class);
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        String previous = CorrelationContext.bind(CORRELATION_ID);
+        if (mode == Mode.MDC) {
+            MDC.put(CorrelationContext.MDC_KEY, CORRELATION_ID);
+        }
+        try {
+            for (int i = 0; i < LINES; i++) {
+                LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "line", null, null);
+                // What RingBufferAsyncAppender does on the calling thread, then what the encoder reads
+                event.prepareForDeferredProcessing();
+                blackhole.consume(CorrelationContext.get());
+                blackhole.consume(CorrelationContext.of(event, CorrelationContext.MDC_KEY));
+            }
+        } finally {
+            CorrelationContext.bind(previous);
+            if (mode == Mode.MDC) {
+                MDC.remove(CorrelationContext.MDC_KEY);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.self.AOP.practice.benchmark;
+
+import com.self.AOP.practice.filter.CorrelationIdGenerator;
+import com.self.AOP.practice.filter.RandomCorrelationIdGenerator;
+import com.self.AOP.practice.filter.SnowflakeCorrelationIdGenerator;
+import com.self.AOP.practice.filter.UlidCorrelationIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+
+/**
+ * Compares the correlation ID generators with the previous UUID.randomUUID() under
+ * contention: every benchmark method runs on 8 threads sharing one generator.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=CorrelationIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class CorrelationIdGeneratorBenchmark {
+
+    public enum Generator {
+        UUID_RANDOM, RANDOM, ULID, SNOWFLAKE
+    }
+
+    @Param
+    private Generator generator;
+
+    private CorrelationIdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        idGenerator = switch (generator) {
+            case UUID_RANDOM -> () -> UUID.randomUUID().toString();
+            case RANDOM -> new RandomCorrelationIdGenerator();
+            case ULID -> new UlidCorrelationIdGenerator();
+            case SNOWFLAKE -> new SnowflakeCorrelationIdGenerator(1);
+        };
+    }
+
+    @Benchmark
+    public String generate() {
+        return idGenerator.generate();
+    }
+}
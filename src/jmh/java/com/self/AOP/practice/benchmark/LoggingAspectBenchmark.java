@@ -0,0 +1,110 @@
+package com.self.AOP.practice.benchmark;
+
+import com.self.AOP.practice.AopPracticeApplication;
+import com.self.AOP.practice.aspects.LoggingSettingsStore;
+import com.self.AOP.practice.service.SampleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the per-call cost of LoggingAspect on the @BeforeLog methods of SampleService.
+ * Run with the gc profiler (configured in build.gradle) to get B/op next to ns/op.
+ *
+ * Modes:
+ * - UNPROXIED: plain SampleService instance, no Spring involved
+ * - ASPECT_DISABLED: full context with logging.aspect.enabled=false
+ * - ASPECT_ENABLED: full context with the aspect on and the default (DEBUG) application log level
+ * - DEBUG_OFF: aspect on, application loggers raised to INFO so the timing line is filtered out
+ * - SPOOL: aspect on, every call written to the binary event spool instead of entry/exit lines
+ * - RUNTIME_DISABLED: aspect bean present, but disabled for every method through LoggingSettingsStore
+ * - RESOURCE_USAGE: as ASPECT_ENABLED, plus per-call thread CPU time and allocated bytes
+ *
+ * Log output is still encoded by the real logback-spring.xml configuration,
+ * but System.out is swapped for a null stream so the console does not skew results.
+ */
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    public enum Mode {
+        UNPROXIED, ASPECT_DISABLED, ASPECT_ENABLED, DEBUG_OFF, SPOOL, RUNTIME_DISABLED, RESOURCE_USAGE
+    }
+
+    @Param
+    private Mode mode;
+
+    private ConfigurableApplicationContext context;
+    private SampleService sampleService;
+    private PrintStream originalOut;
+    private Path spoolDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        if (mode == Mode.UNPROXIED) {
+            sampleService = new SampleService();
+            return;
+        }
+
+        // Passed as command line arguments so they override application.properties
+        List<String> args = new ArrayList<>();
+        args.add("--logging.aspect.enabled=" + (mode != Mode.ASPECT_DISABLED));
+        if (mode == Mode.DEBUG_OFF) {
+            args.add("--logging.level.com.self.AOP.practice=INFO");
+        }
+        if (mode == Mode.RESOURCE_USAGE) {
+            args.add("--logging.aspect.resource-usage=true");
+        }
+        if (mode == Mode.SPOOL) {
+            spoolDirectory = Files.createTempDirectory("spool-benchmark");
+            args.add("--logging.aspect.spool.enabled=true");
+            args.add("--logging.aspect.spool.directory=" + spoolDirectory);
+        }
+        context = new SpringApplicationBuilder(AopPracticeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        sampleService = context.getBean(SampleService.class);
+        if (mode == Mode.RUNTIME_DISABLED) {
+            context.getBean(LoggingSettingsStore.class).update(settings ->
+                    settings.withDefaults(settings.getDefaults().with(false, null, null)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (spoolDirectory != null) {
+            FileSystemUtils.deleteRecursively(spoolDirectory);
+        }
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public String getData() {
+        return sampleService.getData();
+    }
+
+    @Benchmark
+    public String greetUser() {
+        return sampleService.greetUser("Rahul");
+    }
+
+    @Benchmark
+    public String processData() {
+        return sampleService.processData("benchmark payload");
+    }
+}
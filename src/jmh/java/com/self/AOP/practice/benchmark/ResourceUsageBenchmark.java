@@ -0,0 +1,54 @@
+package com.self.AOP.practice.benchmark;
+
+import com.self.AOP.practice.aspects.DeferredResultCompletionTracker;
+import com.self.AOP.practice.aspects.ExceptionFingerprints;
+import com.self.AOP.practice.aspects.LoggingAspect;
+import com.self.AOP.practice.aspects.LoggingAspectProperties;
+import com.self.AOP.practice.aspects.LoggingSettingsStore;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import com.self.AOP.practice.service.SampleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * Measures what 'logging.aspect.resource-usage' adds to an intercepted call. The aspect runs on a
+ * proxy of SampleService with its entry/exit lines switched off, so a call costs the proxy, the
+ * latency histogram and, with resource usage on, the four ThreadMXBean reads and the per-method
+ * accumulators. LoggingAspectBenchmark's RESOURCE_USAGE mode shows the same inside the full context,
+ * where the cost of the log lines dominates.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=ResourceUsageBenchmark
+ */
+@State(Scope.Benchmark)
+public class ResourceUsageBenchmark {
+
+    public enum Mode {
+        LATENCY_ONLY, RESOURCE_USAGE
+    }
+
+    @Param
+    private Mode mode;
+
+    private SampleService sampleService;
+
+    @Setup
+    public void setUp() {
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.setLevel(LogLevel.OFF);
+        properties.setTimingLog(false);
+        properties.setResourceUsage(mode == Mode.RESOURCE_USAGE);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(properties, new MethodLatencyRegistry(),
+                new DeferredResultCompletionTracker(), null, new LoggingSettingsStore(properties),
+                new ExceptionFingerprints(properties), new MethodResourceRegistry()));
+        sampleService = factory.getProxy();
+    }
+
+    @Benchmark
+    public String getData() {
+        return sampleService.getData();
+    }
+}
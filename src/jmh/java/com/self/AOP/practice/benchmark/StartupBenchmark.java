@@ -0,0 +1,166 @@
+package com.self.AOP.practice.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first request of the extracted application: from starting the JVM until
+ * GET /api/v1/hello answers 200. Profiles are run alternately so that machine noise hits both:
+ *
+ * DEFAULT - java -jar, the context is built by reflection and classes are loaded from the jars.
+ * OPTIMIZED - the AOT-generated context initializer and the AppCDS archive made by cdsArchive.
+ *
+ * Every run must also show a LoggingAspect entry line for the request, so a profile in which
+ * the aspect was not resolved or not proxied fails the benchmark instead of looking fast.
+ *
+ * Run with: ./gradlew startupBenchmark -PfastStartup [-PstartupRuns=5]
+ * Arguments: java executable, application directory, application jar, runs.
+ */
+public final class StartupBenchmark {
+
+    private static final String ASPECT_LINE = "Entering method: ";
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration LOG_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, List<String>> PROFILES = new LinkedHashMap<>();
+
+    static {
+        PROFILES.put("DEFAULT", List.of());
+        PROFILES.put("OPTIMIZED", List.of("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true"));
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: StartupBenchmark <java> <application directory> <application jar> <runs>");
+            System.exit(2);
+        }
+        String java = args[0];
+        Path appDir = Paths.get(args[1]);
+        String appJar = args[2];
+        int runs = Integer.parseInt(args[3]);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        PROFILES.keySet().forEach(profile -> results.put(profile, new long[runs]));
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, List<String>> profile : PROFILES.entrySet()) {
+                long nanos = timeToFirstRequest(client, java, appDir, appJar, profile.getKey(), profile.getValue());
+                results.get(profile.getKey())[run] = nanos;
+                System.out.printf("run %d %-9s %,8d ms%n", run + 1, profile.getKey(), toMillis(nanos));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %10s %10s %10s%n", "Profile", "median ms", "min ms", "max ms");
+        for (Map.Entry<String, long[]> result : results.entrySet()) {
+            long[] times = sorted(result.getValue());
+            System.out.printf("%-9s %,10d %,10d %,10d%n", result.getKey(), toMillis(median(times)),
+                    toMillis(times[0]), toMillis(times[times.length - 1]));
+        }
+        double speedup = (double) median(sorted(results.get("DEFAULT"))) / median(sorted(results.get("OPTIMIZED")));
+        System.out.printf("OPTIMIZED reaches its first request %.2fx faster%n", speedup);
+    }
+
+    private static long timeToFirstRequest(HttpClient client, String java, Path appDir, String appJar,
+                                           String profile, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        Path output = Files.createTempFile("startup-" + profile.toLowerCase() + "-", ".log");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", appJar, "--server.port=" + port));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/hello"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        boolean passed = false;
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(appDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(profile + " exited with " + process.exitValue() + ", see " + output);
+                }
+                if (System.nanoTime() - start > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(profile + " did not answer within " + START_TIMEOUT + ", see " + output);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    // Retry below
+                }
+                Thread.sleep(10);
+            }
+            long elapsed = System.nanoTime() - start;
+            awaitAspectLine(output, profile);
+            passed = true;
+            return elapsed;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            if (passed) {
+                Files.delete(output);
+            }
+        }
+    }
+
+    /**
+     * Waits for the LoggingAspect entry line of the request; the async appender writes it shortly after.
+     */
+    private static void awaitAspectLine(Path output, String profile) throws Exception {
+        long deadline = System.nanoTime() + LOG_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (Files.readString(output).contains(ASPECT_LINE)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException(profile + " answered, but LoggingAspect did not log the call, see " + output);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long[] sorted(long[] times) {
+        long[] copy = times.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static long median(long[] sortedTimes) {
+        int middle = sortedTimes.length / 2;
+        return sortedTimes.length % 2 == 1 ? sortedTimes[middle] : (sortedTimes[middle - 1] + sortedTimes[middle]) / 2;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
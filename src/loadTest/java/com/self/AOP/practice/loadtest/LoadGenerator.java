@@ -0,0 +1,142 @@
+package com.self.AOP.practice.loadtest;
+
+import com.self.AOP.practice.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the REST endpoints from a fixed number of worker threads.
+ *
+ * With a target rate each worker sends on its own fixed schedule (open model), and latency is
+ * measured from the time the request was due, not from when it was sent. A server that stalls
+ * therefore shows up in the percentiles instead of silently lowering the request rate. With a
+ * rate of 0 every worker sends its next request as soon as the previous one has completed.
+ */
+final class LoadGenerator {
+
+    static final List<String> ENDPOINTS = List.of("/api/v1/hello", "/api/v1/data", "/api/v1/greet/{name}");
+
+    private static final int NAMES = 100;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final String baseUrl;
+    private final int concurrency;
+    private final int rate;
+    private final boolean correlationId;
+
+    LoadGenerator(String baseUrl, int concurrency, int rate, boolean correlationId) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Per-endpoint counters of one phase.
+     */
+    static final class Recorder {
+
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+
+        Recorder() {
+            for (String endpoint : ENDPOINTS) {
+                latencies.put(endpoint, new LatencyHistogram());
+                errors.put(endpoint, new AtomicLong());
+            }
+        }
+
+        LatencyHistogram total() {
+            return total;
+        }
+
+        Map<String, LatencyHistogram> latencies() {
+            return latencies;
+        }
+
+        Map<String, AtomicLong> errors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Runs the load for the given time and returns what was recorded.
+     */
+    Recorder run(Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        // Each worker sends every intervalNanos; the workers' schedules are spread across one interval
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(concurrency) / rate : 0;
+        Thread[] workers = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            long firstDue = start + (rate > 0 ? intervalNanos * worker / concurrency : 0);
+            workers[i] = new Thread(() -> work(worker, firstDue, intervalNanos, end, recorder), "load-" + worker);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return recorder;
+    }
+
+    private void work(int worker, long firstDue, long intervalNanos, long end, Recorder recorder) {
+        long due = firstDue;
+        for (long sequence = 0; ; sequence++) {
+            if (intervalNanos > 0) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                due = System.nanoTime();
+            }
+            if (due >= end) {
+                return;
+            }
+            String endpoint = ENDPOINTS.get((int) ((worker + sequence) % ENDPOINTS.size()));
+            boolean ok = send(endpoint, worker, sequence);
+            long latency = System.nanoTime() - due;
+            recorder.latencies.get(endpoint).record(latency);
+            recorder.total.record(latency);
+            if (!ok) {
+                recorder.errors.get(endpoint).incrementAndGet();
+            }
+            due += intervalNanos;
+        }
+    }
+
+    private boolean send(String endpoint, int worker, long sequence) {
+        String path = endpoint.replace("{name}", "user" + ThreadLocalRandom.current().nextInt(NAMES));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (correlationId) {
+            request.header("X-CorrelationId", "load-" + worker + "-" + sequence);
+        }
+        try {
+            int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
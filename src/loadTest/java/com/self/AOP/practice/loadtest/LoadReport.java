@@ -0,0 +1,129 @@
+package com.self.AOP.practice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.self.AOP.practice.metrics.LatencySnapshot;
+import com.self.AOP.practice.metrics.LatencySummary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Machine-readable result of a load test run, written as indented JSON with a stable field order
+ * so that reports of two versions can be diffed directly. Latencies are in nanoseconds.
+ */
+record LoadReport(Config config, List<Scenario> scenarios) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // e.g. "[12.345s][info][gc] GC(7) Pause Young (Normal) (G1 Evacuation Pause) 25M->5M(512M) 3.217ms"
+    private static final Pattern GC_PAUSE = Pattern.compile("GC\\(\\d+\\) Pause .* (\\d+(?:\\.\\d+)?)ms$");
+
+    record Config(int concurrency, int rate, long warmupSeconds, long durationSeconds, String heap,
+                  String javaVersion, int processors) {
+    }
+
+    record Scenario(String name, boolean aspectEnabled, boolean correlationId, long requests, long errors,
+                    double errorRate, double throughput, LatencySummary latency, Map<String, Endpoint> endpoints,
+                    Gc gc) {
+
+        static Scenario from(String name, boolean aspectEnabled, boolean correlationId,
+                             LoadGenerator.Recorder recorder, Duration duration, Gc gc) {
+            Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+            long requests = 0;
+            long errors = 0;
+            for (String endpoint : LoadGenerator.ENDPOINTS) {
+                LatencySnapshot snapshot = recorder.latencies().get(endpoint).snapshot(false);
+                long endpointErrors = recorder.errors().get(endpoint).get();
+                endpoints.put(endpoint, new Endpoint(snapshot.getCount(), endpointErrors, LatencySummary.from(snapshot)));
+                requests += snapshot.getCount();
+                errors += endpointErrors;
+            }
+            double seconds = duration.toNanos() / 1e9;
+            return new Scenario(name, aspectEnabled, correlationId, requests, errors,
+                    requests == 0 ? 0 : (double) errors / requests, requests / seconds,
+                    LatencySummary.from(recorder.total().snapshot(false)), endpoints, gc);
+        }
+    }
+
+    record Endpoint(long requests, long errors, LatencySummary latency) {
+    }
+
+    /**
+     * Stop-the-world pauses of the server while the load was measured.
+     */
+    record Gc(int pauses, double totalPauseMillis, double maxPauseMillis) {
+
+        /**
+         * Parses the pauses logged by -Xlog:gc after the given byte offset of the log file.
+         */
+        static Gc parse(Path gcLog, long fromOffset) throws IOException {
+            byte[] bytes = Files.readAllBytes(gcLog);
+            List<String> lines = new String(bytes, (int) Math.min(fromOffset, bytes.length),
+                    (int) Math.max(0, bytes.length - fromOffset)).lines().toList();
+            int pauses = 0;
+            double total = 0;
+            double max = 0;
+            for (String line : lines) {
+                Matcher matcher = GC_PAUSE.matcher(line);
+                if (matcher.find()) {
+                    double millis = Double.parseDouble(matcher.group(1));
+                    pauses++;
+                    total += millis;
+                    max = Math.max(max, millis);
+                }
+            }
+            return new Gc(pauses, round(total), round(max));
+        }
+
+        private static double round(double millis) {
+            return Math.round(millis * 1000) / 1000.0;
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Prints throughput, p99 and error rate of every scenario and, when a previous report is given,
+     * the relative change of throughput and p99 and the change of the error rate.
+     */
+    void print(Path baseline) throws IOException {
+        JsonNode previous = baseline != null ? MAPPER.readTree(baseline.toFile()) : null;
+        System.out.printf("%-34s %12s %12s %10s %8s%n", "Scenario", "req/s", "p99 us", "errors", "GC ms");
+        for (Scenario scenario : scenarios) {
+            System.out.printf("%-34s %12.1f %12.1f %9.2f%% %8.1f%n", scenario.name(), scenario.throughput(),
+                    scenario.latency().p99() / 1e3, scenario.errorRate() * 100, scenario.gc().totalPauseMillis());
+            JsonNode old = previous == null ? null : find(previous, scenario.name());
+            if (old != null) {
+                System.out.printf("%-34s %+11.1f%% %+11.1f%% %+9.2f%%%n", "  vs. " + baseline.getFileName(),
+                        change(old.path("throughput").asDouble(), scenario.throughput()),
+                        change(old.path("latency").path("p99").asDouble(), scenario.latency().p99()),
+                        (scenario.errorRate() - old.path("errorRate").asDouble()) * 100);
+            }
+        }
+    }
+
+    private static JsonNode find(JsonNode report, String name) {
+        for (JsonNode scenario : report.path("scenarios")) {
+            if (name.equals(scenario.path("name").asText())) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+}
@@ -0,0 +1,134 @@
+package com.self.AOP.practice.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the REST endpoints. Every scenario boots the application in a fresh JVM
+ * on a free local port. The JVM has a fixed heap and a GC log. After a warm-up, the load runs for
+ * the configured time and the measured phase is recorded. Scenarios cover logging.aspect.enabled
+ * true and false, each with and without an X-CorrelationId header.
+ *
+ * Configured with system properties (set by ./gradlew loadTest from -PloadConcurrency, -PloadRate,
+ * -PloadWarmup, -PloadDuration and -PloadBaseline):
+ * loadtest.concurrency worker threads (default 16), loadtest.rate requests per second over all
+ * workers, 0 for as fast as possible (default 0), loadtest.warmup and loadtest.duration in seconds
+ * (default 10 and 30), loadtest.baseline an earlier report to compare with.
+ *
+ * Arguments: java executable, application classpath, report file.
+ */
+public final class LoadTest {
+
+    private static final String MAIN_CLASS = "com.self.AOP.practice.AopPracticeApplication";
+    private static final String HEAP = "512m";
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadTest <java> <application classpath> <report file>");
+            System.exit(2);
+        }
+        String java = args[0];
+        String classpath = args[1];
+        Path reportFile = Paths.get(args[2]);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int rate = Integer.getInteger("loadtest.rate", 0);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+        String baseline = System.getProperty("loadtest.baseline");
+
+        List<LoadReport.Scenario> scenarios = new ArrayList<>();
+        for (boolean aspectEnabled : new boolean[]{true, false}) {
+            for (boolean correlationId : new boolean[]{true, false}) {
+                String name = (aspectEnabled ? "aspect-on" : "aspect-off")
+                        + (correlationId ? "/with-correlation-id" : "/without-correlation-id");
+                System.out.println("Running " + name);
+                scenarios.add(runScenario(java, classpath, reportFile.getParent(), name, aspectEnabled, correlationId,
+                        concurrency, rate, warmup, duration));
+            }
+        }
+
+        LoadReport report = new LoadReport(new LoadReport.Config(concurrency, rate, warmup.toSeconds(),
+                duration.toSeconds(), HEAP, System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors()), scenarios);
+        report.write(reportFile);
+        System.out.println();
+        report.print(baseline != null && !baseline.isBlank() ? Paths.get(baseline) : null);
+        System.out.println();
+        System.out.println("Report written to " + reportFile);
+    }
+
+    private static LoadReport.Scenario runScenario(String java, String classpath, Path outputDirectory, String name,
+                                                   boolean aspectEnabled, boolean correlationId, int concurrency,
+                                                   int rate, Duration warmup, Duration duration) throws Exception {
+        Files.createDirectories(outputDirectory);
+        String fileName = name.replace('/', '-');
+        Path gcLog = outputDirectory.resolve(fileName + "-gc.log");
+        Path applicationLog = outputDirectory.resolve(fileName + ".log");
+        Files.deleteIfExists(gcLog);
+        int port = freePort();
+        List<String> command = List.of(java, "-Xms" + HEAP, "-Xmx" + HEAP, "-Xlog:gc:file=" + gcLog,
+                "-cp", classpath, MAIN_CLASS,
+                "--server.port=" + port,
+                "--logging.aspect.enabled=" + aspectEnabled);
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(applicationLog.toFile())
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            awaitStarted(server, baseUrl, applicationLog);
+            LoadGenerator generator = new LoadGenerator(baseUrl, concurrency, rate, correlationId);
+            generator.run(warmup);
+            long gcOffset = Files.size(gcLog);
+            LoadGenerator.Recorder recorder = generator.run(duration);
+            return LoadReport.Scenario.from(name, aspectEnabled, correlationId, recorder, duration,
+                    LoadReport.Gc.parse(gcLog, gcOffset));
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitStarted(Process server, String baseUrl, Path applicationLog) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/hello")).build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Application exited with " + server.exitValue() + ", see " + applicationLog);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // Retry below
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Application did not start within " + START_TIMEOUT + ", see " + applicationLog);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.net.URI;
+import java.nio.Buffer;
+import java.nio.channels.Channel;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.BaseStream;
+
+/**
+ * Renders method arguments and return values for log lines with bounded output.
+ *
+ * Every value is capped at a maximum length and arrays, collections and maps are cut
+ * after a maximum number of elements. Binary payloads, streams, readers, buffers and
+ * channels are summarized by type (and size where it is cheap to get) and never read.
+ * Long character sequences are copied only up to the cap instead of in full.
+ * toString is only called on small JDK value types; any other object is rendered as its type
+ * and identity hash, and an HttpEntity as its status and the type and size of its body, since
+ * their toString would build the whole text before it could be cut.
+ *
+ * Callers are expected to invoke the renderer only once they know the log event will be emitted.
+ */
+public class ArgumentRenderer {
+
+    static final String REDACTED = "***";
+
+    private static final String TRUNCATED = "...";
+    private static final int MAX_DEPTH = 2;
+
+    private final int maxLength;
+    private final int maxCollectionItems;
+
+    public ArgumentRenderer(int maxLength, int maxCollectionItems) {
+        this.maxLength = maxLength;
+        this.maxCollectionItems = maxCollectionItems;
+    }
+
+    public ArgumentRenderer(LoggingAspectProperties.Render render) {
+        this(render.getMaxLength(), render.getMaxCollectionItems());
+    }
+
+    /**
+     * Renders the arguments of a call in the same shape as {@code Arrays.toString(args)},
+     * honouring {@link Redact} on the corresponding parameters.
+     */
+    public String renderArguments(MethodDescriptor descriptor, Object[] args) {
+        if (args.length == 0) {
+            return "[]";
+        }
+        StringBuilder out = new StringBuilder(Math.min(args.length * 16, maxLength * args.length) + 2);
+        out.append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            if (descriptor.isRedacted(i)) {
+                out.append(REDACTED);
+            } else {
+                renderBounded(args[i], out);
+            }
+        }
+        return out.append(']').toString();
+    }
+
+    /**
+     * Renders a single value, e.g. a return value.
+     */
+    public String renderValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String string && string.length() <= maxLength) {
+            return string;
+        }
+        StringBuilder out = new StringBuilder(Math.min(maxLength, 64));
+        renderBounded(value, out);
+        return out.toString();
+    }
+
+    private void renderBounded(Object value, StringBuilder out) {
+        render(value, out, out.length() + maxLength, 0);
+    }
+
+    /**
+     * Appends the value to {@code out}, stopping once {@code limit} is reached.
+     * Only short truncation markers are written past the limit.
+     */
+    private void render(Object value, StringBuilder out, int limit, int depth) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence chars) {
+            appendChars(chars, out, limit);
+        } else if (value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?>) {
+            out.append(value);
+        } else if (value instanceof byte[] bytes) {
+            out.append("byte[").append(bytes.length).append(']');
+        } else if (value instanceof Object[] array) {
+            renderElements(new ArrayIterator(array), array.length, out, limit, depth);
+        } else if (value.getClass().isArray()) {
+            // Other primitive arrays: summarize by component type and length
+            out.append(value.getClass().getComponentType().getName())
+                    .append('[').append(Array.getLength(value)).append(']');
+        } else if (value instanceof Collection<?> collection) {
+            renderElements(collection.iterator(), collection.size(), out, limit, depth);
+        } else if (value instanceof Map<?, ?> map) {
+            renderMap(map, out, limit, depth);
+        } else if (value instanceof Buffer buffer) {
+            out.append('<').append(value.getClass().getSimpleName())
+                    .append(" remaining=").append(buffer.remaining()).append('>');
+        } else if (value instanceof InputStream || value instanceof OutputStream
+                || value instanceof Reader || value instanceof Writer
+                || value instanceof Channel || value instanceof BaseStream<?, ?>) {
+            // Never consume or describe live I/O objects
+            out.append('<').append(value.getClass().getSimpleName()).append('>');
+        } else if (value instanceof HttpEntity<?> entity) {
+            renderEntity(entity, out);
+        } else if (value instanceof UUID || value instanceof TemporalAccessor || value instanceof TemporalAmount
+                || value instanceof URI || value instanceof Locale || value instanceof Currency) {
+            appendChars(value.toString(), out, limit);
+        } else {
+            appendIdentity(value, out);
+        }
+    }
+
+    private static void renderEntity(HttpEntity<?> entity, StringBuilder out) {
+        out.append('<').append(entity.getClass().getSimpleName());
+        if (entity instanceof ResponseEntity<?> response) {
+            out.append(' ').append(response.getStatusCode().value());
+        }
+        Object body = entity.getBody();
+        out.append(" body=");
+        if (body == null) {
+            out.append("null");
+        } else if (body instanceof CharSequence chars) {
+            out.append(body.getClass().getSimpleName()).append('(').append(chars.length()).append(" chars)");
+        } else if (body instanceof byte[] bytes) {
+            out.append("byte[").append(bytes.length).append(']');
+        } else if (body instanceof Collection<?> collection) {
+            out.append(body.getClass().getSimpleName()).append("(size=").append(collection.size()).append(')');
+        } else if (body instanceof Map<?, ?> map) {
+            out.append(body.getClass().getSimpleName()).append("(size=").append(map.size()).append(')');
+        } else {
+            appendIdentity(body, out);
+        }
+        out.append('>');
+    }
+
+    private static void appendIdentity(Object value, StringBuilder out) {
+        out.append(value.getClass().getName()).append('@')
+                .append(Integer.toHexString(System.identityHashCode(value)));
+    }
+
+    private void appendChars(CharSequence chars, StringBuilder out, int limit) {
+        int room = limit - out.length();
+        if (chars.length() <= room) {
+            out.append(chars);
+        } else {
+            out.append(chars, 0, Math.max(room, 0)).append(TRUNCATED)
+                    .append('(').append(chars.length()).append(" chars)");
+        }
+    }
+
+    private void renderElements(Iterator<?> elements, int size, StringBuilder out, int limit, int depth) {
+        if (depth >= MAX_DEPTH) {
+            out.append("[size=").append(size).append(']');
+            return;
+        }
+        out.append('[');
+        int written = 0;
+        while (elements.hasNext()) {
+            if (written == maxCollectionItems || out.length() > limit) {
+                out.append(written > 0 ? ", ...(" : "...(").append(size - written).append(" more)");
+                break;
+            }
+            if (written > 0) {
+                out.append(", ");
+            }
+            render(elements.next(), out, limit, depth + 1);
+            written++;
+        }
+        out.append(']');
+    }
+
+    private void renderMap(Map<?, ?> map, StringBuilder out, int limit, int depth) {
+        if (depth >= MAX_DEPTH) {
+            out.append("{size=").append(map.size()).append('}');
+            return;
+        }
+        out.append('{');
+        int written = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (written == maxCollectionItems || out.length() > limit) {
+                out.append(written > 0 ? ", ...(" : "...(").append(map.size() - written).append(" more)");
+                break;
+            }
+            if (written > 0) {
+                out.append(", ");
+            }
+            render(entry.getKey(), out, limit, depth + 1);
+            out.append('=');
+            render(entry.getValue(), out, limit, depth + 1);
+            written++;
+        }
+        out.append('}');
+    }
+
+    private static final class ArrayIterator implements Iterator<Object> {
+
+        private final Object[] array;
+        private int index;
+
+        ArrayIterator(Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < array.length;
+        }
+
+        @Override
+        public Object next() {
+            return array[index++];
+        }
+    }
+}
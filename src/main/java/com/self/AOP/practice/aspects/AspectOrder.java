@@ -0,0 +1,21 @@
+package com.self.AOP.practice.aspects;
+
+/**
+ * Advice order of the application's aspects; lower values run first (outermost).
+ *
+ * The bulkhead is outermost so a rejected call is shed before any other work is done.
+ * Logging comes next so every admitted call is logged and timed as the caller sees it,
+ * including cache hits. Caching and coalescing come last, directly around the method; a method
+ * uses one or the other, since the cache already runs concurrent misses for a key only once.
+ * Keep {@link AspectPrecedence} in sync for compile-time weaving.
+ */
+public final class AspectOrder {
+
+    public static final int BULKHEAD = 50;
+    public static final int LOGGING = 100;
+    public static final int CACHING = 150;
+    public static final int COALESCING = 200;
+
+    private AspectOrder() {
+    }
+}
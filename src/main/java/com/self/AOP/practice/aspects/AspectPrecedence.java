@@ -0,0 +1,13 @@
+package com.self.AOP.practice.aspects;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.DeclarePrecedence;
+
+/**
+ * The {@link AspectOrder} for compile-time weaving, where ajc ignores Spring's @Order.
+ * Only read by ajc; it is not a Spring bean, as Spring AOP does not support declare precedence.
+ */
+@Aspect
+@DeclarePrecedence("BulkheadAspect, LoggingAspect, CachingAspect, CoalescingAspect")
+public class AspectPrecedence {
+}
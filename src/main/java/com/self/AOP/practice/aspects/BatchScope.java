@@ -0,0 +1,106 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.LatencyHistogram;
+import com.self.AOP.practice.metrics.LatencySnapshot;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounting of the @BeforeLog calls made on a thread while a batch method
+ * ({@link BeforeLog#batch()}) runs. Those calls are not logged one by one; their count,
+ * failures and latency distribution are summarized per method when the batch ends.
+ *
+ * Scopes nest: a batch inside a batch is one item of the outer batch and has its own summary.
+ * Asynchronous item calls are counted when they complete, which may be after the summary.
+ */
+final class BatchScope {
+
+    private static final ThreadLocal<BatchScope> CURRENT = new ThreadLocal<>();
+
+    private final BatchScope outer;
+    private final Map<String, Items> items = new ConcurrentHashMap<>();
+
+    private BatchScope(BatchScope outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * The innermost open batch on the current thread, or null.
+     */
+    static BatchScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a batch on the current thread; it must be closed on the same thread.
+     */
+    static BatchScope open() {
+        BatchScope scope = new BatchScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    void close() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    /**
+     * Counts one finished item call.
+     */
+    void record(MethodDescriptor descriptor, long elapsedNanos, boolean failed) {
+        Items counters = items.computeIfAbsent(descriptor.getShortSignature(), key -> new Items());
+        counters.latency.record(elapsedNanos);
+        if (failed) {
+            counters.failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Total number of item calls counted so far.
+     */
+    long count() {
+        long count = 0;
+        for (Items counters : items.values()) {
+            count += counters.latency.snapshot(false).getCount();
+        }
+        return count;
+    }
+
+    /**
+     * One part per method, e.g. "SampleService.greetUser(..): 1000 calls, 0 failed,
+     * p50 1200 ns, p99 8400 ns, max 91000 ns".
+     */
+    String summary() {
+        if (items.isEmpty()) {
+            return "no item calls";
+        }
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Items> entry : new TreeMap<>(items).entrySet()) {
+            LatencySnapshot latency = entry.getValue().latency.snapshot(false);
+            if (summary.length() > 0) {
+                summary.append("; ");
+            }
+            summary.append(entry.getKey()).append(": ")
+                    .append(latency.getCount()).append(" calls, ")
+                    .append(entry.getValue().failed.get()).append(" failed, p50 ")
+                    .append(latency.getValueAtPercentile(50)).append(" ns, p99 ")
+                    .append(latency.getValueAtPercentile(99)).append(" ns, max ")
+                    .append(latency.getMax()).append(" ns");
+        }
+        return summary.toString();
+    }
+
+    private static final class Items {
+
+        // Mostly recorded by the batch's own thread
+        private final LatencyHistogram latency = new LatencyHistogram(1);
+        private final AtomicLong failed = new AtomicLong();
+    }
+}
@@ -12,9 +12,41 @@ import java.lang.annotation.Target;
  * - Execution time tracking
  * - Exception logging
  *
+ * Entry/exit lines can be sampled with {@link #sampleRate()} and
+ * {@link #maxEventsPerSecond()}. Failures are always logged and latency is
+ * always recorded, whatever the sampling settings.
+ *
+ * A method marked {@link #batch()} is logged as one operation: the @BeforeLog calls it makes
+ * on its thread are not logged individually but summarized when it returns.
+ * A method marked {@link #throughput()} reports bytes processed and MB/s on its exit line.
+ *
  * @see LoggingAspect
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface BeforeLog {
+
+    /**
+     * Fraction of calls (0.0 - 1.0) whose entry and exit lines are logged.
+     */
+    double sampleRate() default 1.0;
+
+    /**
+     * Maximum number of calls per second whose entry and exit lines are logged.
+     * Zero or less means unlimited.
+     */
+    int maxEventsPerSecond() default 0;
+
+    /**
+     * Whether the method processes a batch of items. Nested @BeforeLog calls on the same thread
+     * are then counted and timed per method, and logged as one summary line after the batch,
+     * instead of an entry/exit pair per item. Failures are still logged as they happen.
+     */
+    boolean batch() default false;
+
+    /**
+     * Whether the method returns the number of bytes it processed, as a long or int.
+     * The exit line then reports the byte count and the throughput instead of the return value.
+     */
+    boolean throughput() default false;
 }
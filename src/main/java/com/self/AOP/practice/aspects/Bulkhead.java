@@ -0,0 +1,43 @@
+package com.self.AOP.practice.aspects;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent executions of a method, or of all methods sharing a group name.
+ *
+ * A call over the limit waits in a bounded queue for at most {@link #queueTimeout()}; when the
+ * queue is full or the wait times out it is rejected with a {@link BulkheadFullException},
+ * which MVC turns into a 503. The limits of a group are taken from the first method that uses it.
+ *
+ * @see BulkheadAspect
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Bulkhead {
+
+    /**
+     * Group name shared by methods drawing on the same permits. Empty means a bulkhead per method.
+     */
+    String value() default "";
+
+    /**
+     * Maximum number of calls executing at the same time.
+     */
+    int maxConcurrent() default 10;
+
+    /**
+     * Maximum number of calls waiting for a permit. Zero rejects as soon as the limit is reached.
+     */
+    int maxQueued() default 0;
+
+    /**
+     * How long a queued call waits for a permit before it is rejected.
+     */
+    long queueTimeout() default 100;
+
+    TimeUnit queueTimeoutUnit() default TimeUnit.MILLISECONDS;
+}
@@ -0,0 +1,123 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.BulkheadRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aspect limiting the concurrent executions of @Bulkhead methods.
+ * Enabled unless 'bulkhead.aspect.enabled' is false.
+ *
+ * It is the outermost aspect (see {@link AspectOrder}): a rejected call is turned away before
+ * any logging or caching work and costs one failed CAS plus an exception without stack trace.
+ * Rejections are counted in {@link BulkheadRegistry} instead of being logged one by one.
+ * For methods returning a {@link CompletionStage} the permit is held until the stage completes.
+ *
+ * Like LoggingAspect, the instance AspectJ creates in compile-time weaving mode delegates
+ * to the Spring-configured bean.
+ */
+@ConditionalOnProperty(name = "bulkhead.aspect.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+@Aspect
+@Order(AspectOrder.BULKHEAD)
+public class BulkheadAspect {
+
+    private static final AtomicReference<BulkheadAspect> configured = new AtomicReference<>();
+
+    private final boolean weaverInstance;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<Method, Limiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Used by AspectJ to create the aspect singleton in compile-time weaving mode.
+     */
+    public BulkheadAspect() {
+        this.weaverInstance = true;
+        this.bulkheadRegistry = null;
+    }
+
+    @Autowired
+    public BulkheadAspect(BulkheadRegistry bulkheadRegistry) {
+        this.weaverInstance = false;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @PostConstruct
+    void registerForWeaving() {
+        configured.set(this);
+    }
+
+    @PreDestroy
+    void unregisterForWeaving() {
+        configured.compareAndSet(this, null);
+    }
+
+    /**
+     * Runs the call with a permit of the method's bulkhead, or rejects it.
+     */
+    @Around("execution(* *(..)) && @annotation(bulkhead)")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        if (weaverInstance) {
+            BulkheadAspect target = configured.get();
+            return target != null ? target.limitConcurrency(joinPoint, bulkhead) : joinPoint.proceed();
+        }
+        Limiter limiter = limiterFor(((MethodSignature) joinPoint.getSignature()).getMethod(), bulkhead);
+        boolean acquired;
+        try {
+            acquired = limiter.permits().tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new BulkheadFullException(limiter.name());
+        }
+
+        boolean releaseNow = true;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof CompletionStage<?> stage) {
+                releaseNow = false;
+                stage.whenComplete((value, error) -> limiter.permits().release());
+            }
+            return result;
+        } finally {
+            if (releaseNow) {
+                limiter.permits().release();
+            }
+        }
+    }
+
+    private Limiter limiterFor(Method method, Bulkhead bulkhead) {
+        Limiter limiter = limiters.get(method);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(method, m -> {
+                String name = bulkhead.value().isEmpty() ? MethodDescriptor.keyOf(m) : bulkhead.value();
+                return new Limiter(name, bulkheadRegistry.limiterFor(name, () -> newLimiter(bulkhead)));
+            });
+        }
+        return limiter;
+    }
+
+    static ConcurrencyLimiter newLimiter(Bulkhead bulkhead) {
+        return new ConcurrencyLimiter(bulkhead.maxConcurrent(), bulkhead.maxQueued(),
+                bulkhead.queueTimeout(), bulkhead.queueTimeoutUnit());
+    }
+
+    private record Limiter(String name, ConcurrencyLimiter permits) {
+    }
+}
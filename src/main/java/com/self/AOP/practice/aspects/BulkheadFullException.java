@@ -0,0 +1,16 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a {@link Bulkhead} has no permit for a call. Answered with 503 Service Unavailable.
+ * Rejections are expected under overload, so no stack trace is captured.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead '" + bulkhead + "' is full", null, false, false);
+    }
+}
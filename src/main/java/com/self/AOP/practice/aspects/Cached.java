@@ -0,0 +1,47 @@
+package com.self.AOP.practice.aspects;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the result of a method per argument list.
+ * Only for pure methods: the same arguments must always produce the same result.
+ *
+ * Each annotated method gets its own bounded cache with W-TinyLFU admission and eviction,
+ * so a burst of one-off keys cannot push out frequently used entries. Exceptions are not
+ * cached; null results are. Hits, misses, evictions and load times are recorded.
+ * Not meant to be combined with {@link Coalesce}: concurrent misses for a key already share one load.
+ *
+ * @see CachingAspect
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+    /**
+     * Maximum number of entries. Ignored when {@link #maximumWeight()} is set.
+     */
+    long maximumSize() default 1000;
+
+    /**
+     * Maximum total weight of the cached results, roughly their size in bytes.
+     * Zero or less means the cache is bounded by {@link #maximumSize()} instead.
+     */
+    long maximumWeight() default 0;
+
+    /**
+     * Time after which an entry expires once written. Zero or less means no expiry.
+     */
+    long ttl() default 0;
+
+    TimeUnit ttlUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Milliseconds a caller waits for another caller's load of the same key before it runs
+     * the method itself, so a hung load cannot stall every caller of that key.
+     */
+    long maxWait() default 5_000;
+}
@@ -0,0 +1,269 @@
+package com.self.AOP.practice.aspects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aspect caching the results of @Cached methods, one Caffeine cache per method.
+ * Enabled unless 'caching.aspect.enabled' is false.
+ *
+ * Runs inside {@link LoggingAspect} (see {@link AspectOrder}), so a cache hit is still
+ * logged and timed, but never reaches the method. Concurrent misses for the same key
+ * wait for a single computation, for at most {@link Cached#maxWait()}; a caller whose wait
+ * expires runs the method itself without caching its result. The method runs on the calling thread outside of any cache
+ * lock and its result is put afterwards, so a slow load blocks no other key and may call the
+ * cache again. Caches are registered in {@link MethodCacheRegistry}
+ * under the same key as the method's latency histogram.
+ *
+ * Like LoggingAspect, the instance AspectJ creates in compile-time weaving mode delegates
+ * to the Spring-configured bean.
+ */
+@ConditionalOnProperty(name = "caching.aspect.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+@Aspect
+@Order(AspectOrder.CACHING)
+public class CachingAspect {
+
+    private static final Object NULL_VALUE = new Object();
+    private static final Object NO_ARGUMENTS = new Object();
+
+    private static final AtomicReference<CachingAspect> configured = new AtomicReference<>();
+
+    private final boolean weaverInstance;
+    private final MethodCacheRegistry cacheRegistry;
+    private final Map<Method, MethodCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Used by AspectJ to create the aspect singleton in compile-time weaving mode.
+     */
+    public CachingAspect() {
+        this.weaverInstance = true;
+        this.cacheRegistry = null;
+    }
+
+    @Autowired
+    public CachingAspect(MethodCacheRegistry cacheRegistry) {
+        this.weaverInstance = false;
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    @PostConstruct
+    void registerForWeaving() {
+        configured.set(this);
+    }
+
+    @PreDestroy
+    void unregisterForWeaving() {
+        configured.compareAndSet(this, null);
+    }
+
+    /**
+     * Returns the cached result for the call's arguments, invoking the method on a miss.
+     */
+    @Around("execution(* *(..)) && @annotation(cached)")
+    public Object cacheResult(ProceedingJoinPoint joinPoint, Cached cached) throws Throwable {
+        if (weaverInstance) {
+            CachingAspect target = configured.get();
+            return target != null ? target.cacheResult(joinPoint, cached) : joinPoint.proceed();
+        }
+        MethodCache cache = cacheFor(((MethodSignature) joinPoint.getSignature()).getMethod(), cached);
+        Object key = keyOf(joinPoint.getArgs());
+
+        Object value = cache.lookup(key);
+        if (value != null) {
+            return value == NULL_VALUE ? null : value;
+        }
+        Load load = new Load(Thread.currentThread());
+        Load running = cache.loads.putIfAbsent(key, load);
+        if (running == null) {
+            return cache.load(key, load, joinPoint);
+        }
+        if (running.loader == load.loader) {
+            // The method calls itself with the same key while loading it; waiting would never end
+            return joinPoint.proceed();
+        }
+        try {
+            value = running.get(cached.maxWait(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            cache.stats.recordMisses(1);
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            // The load is hung or very slow; it still puts its value when it completes
+            cache.stats.recordMisses(1);
+            return joinPoint.proceed();
+        }
+        // Only a shared load that produced a value counts as a hit
+        cache.stats.recordHits(1);
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private MethodCache cacheFor(Method method, Cached cached) {
+        MethodCache cache = caches.get(method);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(method, m -> {
+                StatsCounter stats = new ConcurrentStatsCounter();
+                Cache<Object, Object> created = newCache(cached, stats);
+                cacheRegistry.cacheFor(MethodDescriptor.keyOf(m), () -> created);
+                return new MethodCache(created, stats);
+            });
+        }
+        return cache;
+    }
+
+    static Cache<Object, Object> newCache(Cached cached, StatsCounter stats) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats(() -> stats);
+        if (cached.maximumWeight() > 0) {
+            builder.maximumWeight(cached.maximumWeight()).weigher(CachingAspect::weigh);
+        } else {
+            builder.maximumSize(cached.maximumSize());
+        }
+        if (cached.ttl() > 0) {
+            builder.expireAfterWrite(cached.ttl(), cached.ttlUnit());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cache key for an argument list: a constant without arguments, the argument itself
+     * for a single non-array argument, otherwise a key comparing the arguments deeply.
+     */
+    static Object keyOf(Object[] args) {
+        if (args.length == 0) {
+            return NO_ARGUMENTS;
+        }
+        if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+            return args[0];
+        }
+        return new ArgumentsKey(args.clone());
+    }
+
+    /**
+     * Rough retained size in bytes of a cache entry, used with {@link Cached#maximumWeight()}.
+     */
+    static int weigh(Object key, Object value) {
+        return 32 + estimateSize(key) + estimateSize(value);
+    }
+
+    private static int estimateSize(Object value) {
+        if (value instanceof CharSequence text) {
+            return 40 + 2 * text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        }
+        if (value instanceof Collection<?> collection) {
+            return 32 + 16 * collection.size();
+        }
+        if (value instanceof ArgumentsKey arguments) {
+            int size = 16;
+            for (Object argument : arguments.args()) {
+                size += estimateSize(argument);
+            }
+            return size;
+        }
+        return 16;
+    }
+
+    private record ArgumentsKey(Object[] args) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ArgumentsKey key && Arrays.deepEquals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(args);
+        }
+    }
+
+    /**
+     * The cache of one method with the loads in progress for it. Hits, misses and load times
+     * are recorded here rather than by the cache, which never runs the method itself.
+     */
+    private static final class MethodCache {
+
+        final Cache<Object, Object> cache;
+        final StatsCounter stats;
+        final ConcurrentMap<Object, Load> loads = new ConcurrentHashMap<>();
+
+        MethodCache(Cache<Object, Object> cache, StatsCounter stats) {
+            this.cache = cache;
+            this.stats = stats;
+        }
+
+        Object lookup(Object key) {
+            // Counts as an access for eviction, but leaves the statistics to this class
+            Object value = cache.asMap().get(key);
+            if (value != null) {
+                stats.recordHits(1);
+            }
+            return value;
+        }
+
+        Object load(Object key, Load load, ProceedingJoinPoint joinPoint) throws Throwable {
+            // A load finishing between the lookup and claiming the key has already put its value
+            Object value = cache.policy().getIfPresentQuietly(key);
+            if (value != null) {
+                stats.recordHits(1);
+                loads.remove(key, load);
+                load.complete(value);
+                return value == NULL_VALUE ? null : value;
+            }
+            stats.recordMisses(1);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Throwable throwable) {
+                stats.recordLoadFailure(System.nanoTime() - start);
+                loads.remove(key, load);
+                load.completeExceptionally(throwable);
+                throw throwable;
+            }
+            stats.recordLoadSuccess(System.nanoTime() - start);
+            value = result == null ? NULL_VALUE : result;
+            cache.put(key, value);
+            loads.remove(key, load);
+            load.complete(value);
+            return result;
+        }
+    }
+
+    /**
+     * The value of a key being loaded by the thread that found it missing.
+     */
+    private static final class Load extends CompletableFuture<Object> {
+
+        private final Thread loader;
+
+        Load(Thread loader) {
+            this.loader = loader;
+        }
+    }
+}
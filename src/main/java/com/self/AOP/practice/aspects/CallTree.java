@@ -0,0 +1,212 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.logging.CorrelationContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread span tree of the nested @BeforeLog calls made while handling one request.
+ *
+ * The outermost call opens the tree and remembers the correlation ID; every nested call
+ * becomes a child of the call that is running when it starts. Repeated calls to the same
+ * method under one parent are merged into a single node with a call count, and at most
+ * {@link #MAX_NODES} nodes are kept per tree, so a loop cannot grow the event without bound.
+ * Times are measured up to the method's return, also for asynchronous return types.
+ */
+final class CallTree {
+
+    static final int MAX_NODES = 256;
+
+    private static final ThreadLocal<CallTree> CURRENT = ThreadLocal.withInitial(CallTree::new);
+
+    private final ArrayDeque<Node> open = new ArrayDeque<>();
+    private int nodes;
+    private int dropped;
+
+    private CallTree() {
+    }
+
+    /**
+     * Opens a span for a call starting now on the current thread.
+     */
+    static Node enter(String method, long startNanos) {
+        CallTree tree = CURRENT.get();
+        Node parent = tree.open.peek();
+        Node node;
+        if (parent == null) {
+            tree.nodes = 1;
+            tree.dropped = 0;
+            node = new Node(method, CorrelationContext.get());
+        } else {
+            node = parent.child(method);
+            if (node == null) {
+                if (tree.nodes < MAX_NODES) {
+                    tree.nodes++;
+                    node = parent.addChild(method);
+                } else {
+                    // Still timed so the parent's self time stays right, just not reported
+                    tree.dropped++;
+                    node = new Node(method, null);
+                }
+            }
+        }
+        node.calls++;
+        node.startNanos = startNanos;
+        tree.open.push(node);
+        return node;
+    }
+
+    /**
+     * Closes the span. Returns the finished tree's root when this was the outermost call,
+     * otherwise null.
+     */
+    static Node exit(Node node, long endNanos, Throwable error, boolean async) {
+        CallTree tree = CURRENT.get();
+        long elapsed = endNanos - node.startNanos;
+        node.totalNanos += elapsed;
+        if (error != null) {
+            node.error = error.getClass().getSimpleName();
+        }
+        node.async |= async;
+
+        // Normally the node is on top; anything above it was left open by a broken nesting
+        Node top;
+        do {
+            top = tree.open.poll();
+        } while (top != null && top != node);
+        Node parent = tree.open.peek();
+        if (parent != null) {
+            parent.childNanos += elapsed;
+            return null;
+        }
+        node.dropped = tree.dropped;
+        return node;
+    }
+
+    /**
+     * One method in the tree. Total time includes the children, self time does not.
+     */
+    static final class Node {
+
+        private final String method;
+        private final String correlationId;
+        private List<Node> children;
+        private long startNanos;
+        private long totalNanos;
+        private long childNanos;
+        private int calls;
+        private int dropped;
+        private String error;
+        private boolean async;
+
+        private Node(String method, String correlationId) {
+            this.method = method;
+            this.correlationId = correlationId;
+        }
+
+        private Node child(String method) {
+            if (children != null) {
+                for (Node child : children) {
+                    if (child.method.equals(method)) {
+                        return child;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(String method) {
+            if (children == null) {
+                children = new ArrayList<>(4);
+            }
+            Node child = new Node(method, null);
+            children.add(child);
+            return child;
+        }
+
+        String getMethod() {
+            return method;
+        }
+
+        List<Node> getChildren() {
+            return children == null ? List.of() : children;
+        }
+
+        long getTotalNanos() {
+            return totalNanos;
+        }
+
+        long getSelfNanos() {
+            return totalNanos - childNanos;
+        }
+
+        int getCalls() {
+            return calls;
+        }
+
+        /**
+         * Renders the tree rooted at this node as one compact JSON object.
+         * Call counts, errors, async flags and children are only written when present.
+         */
+        String toJson() {
+            StringBuilder json = new StringBuilder(128);
+            json.append('{');
+            if (correlationId != null) {
+                json.append("\"correlationId\":");
+                appendString(json, correlationId);
+                json.append(',');
+            }
+            json.append("\"root\":");
+            appendNode(json, this);
+            if (dropped > 0) {
+                json.append(",\"droppedNodes\":").append(dropped);
+            }
+            return json.append('}').toString();
+        }
+
+        private static void appendNode(StringBuilder json, Node node) {
+            json.append("{\"method\":");
+            appendString(json, node.method);
+            if (node.calls > 1) {
+                json.append(",\"calls\":").append(node.calls);
+            }
+            json.append(",\"totalNanos\":").append(node.totalNanos)
+                    .append(",\"selfNanos\":").append(node.getSelfNanos());
+            if (node.async) {
+                json.append(",\"async\":true");
+            }
+            if (node.error != null) {
+                json.append(",\"error\":");
+                appendString(json, node.error);
+            }
+            if (node.children != null) {
+                json.append(",\"children\":[");
+                for (int i = 0; i < node.children.size(); i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    appendNode(json, node.children.get(i));
+                }
+                json.append(']');
+            }
+            json.append('}');
+        }
+
+        private static void appendString(StringBuilder json, String value) {
+            json.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.self.AOP.practice.aspects;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces identical concurrent calls: while a call with a given key is running, further calls
+ * with the same key wait for it and receive its result, or its exception, instead of running the
+ * method again. Nothing is kept once the call completes; for that, use {@link Cached}.
+ *
+ * @see CoalescingAspect
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesce {
+
+    /**
+     * SpEL expression computing the key from the arguments, which are available by name
+     * (e.g. {@code "#name.toLowerCase()"}) and as {@code #p0}, {@code #p1}, ...
+     * Empty means all arguments together form the key.
+     */
+    String key() default "";
+
+    /**
+     * Milliseconds a caller waits for the running call before it runs the method itself,
+     * so a hung call cannot stall every caller with the same key.
+     */
+    long maxWait() default 5_000;
+}
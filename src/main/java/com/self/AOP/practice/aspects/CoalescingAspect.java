@@ -0,0 +1,114 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.CoalescingRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aspect coalescing identical concurrent calls to @Coalesce methods through a {@link SingleFlight}
+ * per method. Enabled unless 'coalescing.aspect.enabled' is false.
+ *
+ * Runs inside {@link LoggingAspect} and {@link CachingAspect} (see {@link AspectOrder}):
+ * every caller is still logged and timed, including the time spent waiting for the leader,
+ * and cache hits never pay for key evaluation. A follower waits at most {@link Coalesce#maxWait()}
+ * milliseconds for the leader and then runs the method itself.
+ * Key expressions are parsed once per method. Coalesced and executed calls are counted in
+ * {@link CoalescingRegistry}.
+ *
+ * Like LoggingAspect, the instance AspectJ creates in compile-time weaving mode delegates
+ * to the Spring-configured bean.
+ */
+@ConditionalOnProperty(name = "coalescing.aspect.enabled", havingValue = "true", matchIfMissing = true)
+@Component
+@Aspect
+@Order(AspectOrder.COALESCING)
+public class CoalescingAspect {
+
+    private static final Object NULL_KEY = new Object();
+
+    private static final AtomicReference<CoalescingAspect> configured = new AtomicReference<>();
+
+    private final boolean weaverInstance;
+    private final CoalescingRegistry coalescingRegistry;
+    private final Map<Method, Target> targets = new ConcurrentHashMap<>();
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+
+    /**
+     * Used by AspectJ to create the aspect singleton in compile-time weaving mode.
+     */
+    public CoalescingAspect() {
+        this.weaverInstance = true;
+        this.coalescingRegistry = null;
+    }
+
+    @Autowired
+    public CoalescingAspect(CoalescingRegistry coalescingRegistry) {
+        this.weaverInstance = false;
+        this.coalescingRegistry = coalescingRegistry;
+    }
+
+    @PostConstruct
+    void registerForWeaving() {
+        configured.set(this);
+    }
+
+    @PreDestroy
+    void unregisterForWeaving() {
+        configured.compareAndSet(this, null);
+    }
+
+    /**
+     * Runs the call, or waits for the identical call already in flight and shares its outcome.
+     */
+    @Around("execution(* *(..)) && @annotation(coalesce)")
+    public Object coalesceCalls(ProceedingJoinPoint joinPoint, Coalesce coalesce) throws Throwable {
+        if (weaverInstance) {
+            CoalescingAspect target = configured.get();
+            return target != null ? target.coalesceCalls(joinPoint, coalesce) : joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Target target = targetFor(method, coalesce);
+        Object key = keyOf(target, method, joinPoint.getArgs());
+        return target.flight().execute(key, coalesce.maxWait(), joinPoint::proceed);
+    }
+
+    private Object keyOf(Target target, Method method, Object[] args) {
+        if (target.key() == null) {
+            return CachingAspect.keyOf(args);
+        }
+        Object key = target.key().getValue(new MethodBasedEvaluationContext(null, method, args, parameterNames));
+        return key == null ? NULL_KEY : key;
+    }
+
+    private Target targetFor(Method method, Coalesce coalesce) {
+        Target target = targets.get(method);
+        if (target == null) {
+            target = targets.computeIfAbsent(method, m -> new Target(
+                    coalescingRegistry.flightFor(MethodDescriptor.keyOf(m)),
+                    coalesce.key().isEmpty() ? null : parser.parseExpression(coalesce.key())));
+        }
+        return target;
+    }
+
+    private record Target(SingleFlight flight, Expression key) {
+    }
+}
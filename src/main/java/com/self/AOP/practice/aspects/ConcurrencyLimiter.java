@@ -0,0 +1,87 @@
+package com.self.AOP.practice.aspects;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Permits behind one {@link Bulkhead}.
+ *
+ * A free permit is taken with a single CAS (a non-fair {@link Semaphore#tryAcquire()}), so calls
+ * under the limit never block or queue. Only once the limit is reached do callers touch the queue
+ * counter, and only up to maxQueued of them park waiting for a permit. Being non-fair, a new call
+ * may take a released permit ahead of a queued one; queued calls are bounded by their timeout.
+ */
+public final class ConcurrencyLimiter {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimiter(int maxConcurrent, int maxQueued, long queueTimeout, TimeUnit queueTimeoutUnit) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1, was " + maxConcurrent);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeoutNanos = queueTimeoutUnit.toNanos(Math.max(0, queueTimeout));
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes a permit, waiting in the queue if there is room. Returns false when the call is rejected;
+     * a true result must be paired with {@link #release()}.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (maxQueued == 0 || queued.incrementAndGet() > maxQueued) {
+            if (maxQueued > 0) {
+                queued.decrementAndGet();
+            }
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
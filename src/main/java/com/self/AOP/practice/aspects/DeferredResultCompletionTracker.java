@@ -0,0 +1,63 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiConsumer;
+
+/**
+ * Tells {@link LoggingAspect} when a {@link DeferredResult} returned by a @BeforeLog
+ * controller method is actually completed.
+ *
+ * DeferredResult only holds a single completion callback, which belongs to the controller,
+ * so instead of registering one the aspect hands the result to this tracker. Registered as
+ * an MVC deferred result interceptor, it reports the value (or error) when the result is set,
+ * or a {@link CancellationException} if the request ends without one (timeout, disconnect).
+ * Results never handed to MVC are held only weakly.
+ */
+@Component
+public class DeferredResultCompletionTracker implements DeferredResultProcessingInterceptor, WebMvcConfigurer {
+
+    private final Map<DeferredResult<?>, BiConsumer<Object, Throwable>> pending =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Calls the callback once with the result value or error of the given deferred result.
+     */
+    public void track(DeferredResult<?> deferredResult, BiConsumer<Object, Throwable> callback) {
+        pending.put(deferredResult, callback);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(this);
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, DeferredResult<T> deferredResult, Object concurrentResult) {
+        BiConsumer<Object, Throwable> callback = pending.remove(deferredResult);
+        if (callback != null) {
+            if (concurrentResult instanceof Throwable error) {
+                callback.accept(null, error);
+            } else {
+                callback.accept(concurrentResult, null);
+            }
+        }
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        BiConsumer<Object, Throwable> callback = pending.remove(deferredResult);
+        if (callback != null) {
+            callback.accept(null, new CancellationException("Request completed before the DeferredResult was set"));
+        }
+    }
+}
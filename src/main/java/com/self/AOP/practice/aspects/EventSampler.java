@@ -0,0 +1,100 @@
+package com.self.AOP.practice.aspects;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides per call whether the entry/exit lines of a @BeforeLog method are written.
+ *
+ * A call is logged when it passes the fixed-rate sample and then fits into the
+ * events-per-second budget. The budget is a lock-free token bucket expressed as a
+ * single "theoretical arrival time" (GCRA): one CAS per admitted call, none per
+ * rejected call. Rejected calls are counted so a summary can be logged periodically,
+ * and once more at shutdown for the calls since the last one.
+ */
+public class EventSampler {
+
+    static final long SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double sampleRate;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder suppressed = new LongAdder();
+    private final AtomicLong nextSummaryAt;
+
+    EventSampler(double sampleRate, int maxEventsPerSecond, long nowNanos) {
+        this.sampleRate = sampleRate;
+        if (maxEventsPerSecond > 0) {
+            this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxEventsPerSecond;
+            // Allow a full second worth of events in a burst
+            this.burstToleranceNanos = TimeUnit.SECONDS.toNanos(1) - emissionIntervalNanos;
+        } else {
+            this.emissionIntervalNanos = 0;
+            this.burstToleranceNanos = 0;
+        }
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+        this.nextSummaryAt = new AtomicLong(nowNanos + SUMMARY_INTERVAL_NANOS);
+    }
+
+    /**
+     * Returns a sampler for the annotation, or null when every call is logged anyway.
+     */
+    public static EventSampler forAnnotation(BeforeLog annotation) {
+        if (annotation == null || (annotation.sampleRate() >= 1.0 && annotation.maxEventsPerSecond() <= 0)) {
+            return null;
+        }
+        return new EventSampler(annotation.sampleRate(), annotation.maxEventsPerSecond(), System.nanoTime());
+    }
+
+    /**
+     * Returns true if this call should be logged; otherwise counts it as suppressed.
+     */
+    public boolean sample(long nowNanos) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            suppressed.increment();
+            return false;
+        }
+        if (emissionIntervalNanos > 0 && !tryAcquire(nowNanos)) {
+            suppressed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - nowNanos > 0 ? arrival : nowNanos;
+            if (start - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Once per summary interval, returns the number of calls suppressed since the last summary
+     * and resets the counter. Returns 0 when no summary is due or nothing was suppressed.
+     * Only one caller wins each interval.
+     */
+    public long drainSuppressed(long nowNanos) {
+        long due = nextSummaryAt.get();
+        if (nowNanos - due < 0 || !nextSummaryAt.compareAndSet(due, nowNanos + SUMMARY_INTERVAL_NANOS)) {
+            return 0;
+        }
+        return suppressed.sumThenReset();
+    }
+
+    /**
+     * Returns the number of calls suppressed since the last summary and resets the counter,
+     * whether or not a summary is due, e.g. when no further call will come to report it.
+     */
+    public long drainPendingSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
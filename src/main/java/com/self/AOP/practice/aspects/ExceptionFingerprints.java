@@ -0,0 +1,151 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.ExceptionSummary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groups the failures of @BeforeLog methods by fingerprint, a stable hash of the exception type
+ * and its top stack frames (class and method, without line numbers), and decides which of them
+ * log their stack trace: the first of a fingerprint in every 'logging.aspect.exceptions.window'.
+ * During an error storm the same trace is therefore rendered once per window instead of once per call.
+ *
+ * The same failure gets the same fingerprint in every JVM, so it can be searched across instances.
+ * At most 'logging.aspect.exceptions.max-fingerprints' are tracked; a new one first evicts those not
+ * seen for a window, else the least recently seen.
+ */
+@Component
+public class ExceptionFingerprints {
+
+    private final long windowNanos;
+    private final int frames;
+    private final int maxFingerprints;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public ExceptionFingerprints(LoggingAspectProperties properties) {
+        LoggingAspectProperties.Exceptions exceptions = properties.getExceptions();
+        this.windowNanos = exceptions.getWindow().toNanos();
+        this.frames = exceptions.getFrames();
+        this.maxFingerprints = exceptions.getMaxFingerprints();
+    }
+
+    /**
+     * Outcome of one failure. With a stack trace, suppressed is the number of failures logged
+     * without one since the previous trace; without, it is the number so far in this window.
+     */
+    public record Occurrence(String fingerprint, boolean stackTrace, long suppressed) {
+    }
+
+    /**
+     * Counts the failure and decides whether its stack trace is logged.
+     */
+    public Occurrence record(Throwable throwable, String method, long nowNanos) {
+        String fingerprint = fingerprint(throwable, frames);
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            if (entries.size() >= maxFingerprints) {
+                evict(nowNanos);
+            }
+            entry = entries.computeIfAbsent(fingerprint, key -> new Entry(throwable, method, nowNanos));
+        }
+        entry.count.increment();
+        entry.lastSeen = System.currentTimeMillis();
+        entry.lastSeenNanos = nowNanos;
+        long windowEnd = entry.windowEnd.get();
+        if (nowNanos - windowEnd >= 0 && entry.windowEnd.compareAndSet(windowEnd, nowNanos + windowNanos)) {
+            return new Occurrence(fingerprint, true, entry.suppressed.getAndSet(0));
+        }
+        entry.omitted.increment();
+        return new Occurrence(fingerprint, false, entry.suppressed.incrementAndGet());
+    }
+
+    /**
+     * Makes room for a new fingerprint. Dropping one idle for a window loses only its counters,
+     * as its next failure would log the stack trace anyway.
+     */
+    private void evict(long nowNanos) {
+        Map.Entry<String, Entry> leastRecent = null;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            long idle = nowNanos - candidate.getValue().lastSeenNanos;
+            if (idle >= windowNanos) {
+                entries.remove(candidate.getKey(), candidate.getValue());
+            } else if (leastRecent == null || candidate.getValue().lastSeenNanos - leastRecent.getValue().lastSeenNanos < 0) {
+                leastRecent = candidate;
+            }
+        }
+        if (entries.size() >= maxFingerprints && leastRecent != null) {
+            entries.remove(leastRecent.getKey(), leastRecent.getValue());
+        }
+    }
+
+    /**
+     * Counters of every fingerprint, most frequent first.
+     */
+    public Map<String, ExceptionSummary> snapshot() {
+        Map<String, ExceptionSummary> summaries = new LinkedHashMap<>();
+        entries.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().summary()))
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, ExceptionSummary> entry) -> entry.getValue().count()).reversed())
+                .forEach(entry -> summaries.put(entry.getKey(), entry.getValue()));
+        return summaries;
+    }
+
+    /**
+     * 16 hex digits of a 64-bit FNV-1a hash over the exception type and its top frames.
+     */
+    static String fingerprint(Throwable throwable, int frames) {
+        long hash = hash(0xcbf29ce484222325L, throwable.getClass().getName());
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        for (int i = 0; i < Math.min(frames, stackTrace.length); i++) {
+            hash = hash(hash, stackTrace[i].getClassName());
+            hash = hash(hash, stackTrace[i].getMethodName());
+        }
+        return String.format("%016x", hash);
+    }
+
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        // Separator, so that "ab" + "c" and "a" + "bc" differ
+        return (hash ^ 0xff) * 0x100000001b3L;
+    }
+
+    private static final class Entry {
+
+        private final String type;
+        private final String message;
+        private final String topFrame;
+        private final String method;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder omitted = new LongAdder();
+        private final AtomicLong suppressed = new AtomicLong();
+        // The first failure always logs its stack trace
+        private final AtomicLong windowEnd;
+        private volatile long lastSeen;
+        private volatile long lastSeenNanos;
+
+        Entry(Throwable throwable, String method, long nowNanos) {
+            StackTraceElement[] stackTrace = throwable.getStackTrace();
+            this.type = throwable.getClass().getName();
+            this.message = throwable.getMessage();
+            this.topFrame = stackTrace.length > 0 ? stackTrace[0].toString() : null;
+            this.method = method;
+            this.windowEnd = new AtomicLong(nowNanos);
+            this.lastSeenNanos = nowNanos;
+        }
+
+        ExceptionSummary summary() {
+            return new ExceptionSummary(type, message, topFrame, method, count.sum(), omitted.sum(),
+                    Instant.ofEpochMilli(lastSeen));
+        }
+    }
+}
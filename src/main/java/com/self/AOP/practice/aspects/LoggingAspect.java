@@ -1,81 +1,453 @@
 package com.self.AOP.practice.aspects;
 
-import org.aspectj.lang.JoinPoint;
+import com.self.AOP.practice.logging.CorrelationContext;
+import com.self.AOP.practice.logging.EventSpool;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import com.self.AOP.practice.metrics.ResourceUsage;
+import com.self.AOP.practice.metrics.ThreadResourceMeter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Aspect for logging method executions across the application.
  * Provides execution time tracking and detailed method information.
  * Enables logging based on the 'logging.aspect.enabled' property.
+ *
+ * All logging for a call happens in a single around advice: entry, exit (or failure)
+ * and timing share one join point and one cached {@link MethodDescriptor}.
+ * Arguments and return values are rendered through a bounded {@link ArgumentRenderer}
+ * and only when the corresponding line is actually logged.
+ * Every call's latency is recorded in nanoseconds into the method's histogram
+ * (see {@link MethodLatencyRegistry}), independent of the DEBUG timing line.
+ * Entry/exit lines honour the sampling settings on {@link BeforeLog}; failures and
+ * latency recording are never sampled.
+ *
+ * Methods returning a {@link CompletionStage}, {@link Callable} or {@link DeferredResult}
+ * are timed until the asynchronous work completes, not until the method returns. The
+ * outcome is logged from whichever thread completes it, with the caller's correlation ID
+ * and MDC restored for the duration of the log calls.
+ *
+ * A {@link BeforeLog#batch()} method is logged as one operation: the calls it makes on its thread
+ * are counted and timed in a {@link BatchScope} and summarized in one line when it returns.
+ *
+ * With 'logging.aspect.resource-usage=true' the CPU time and the heap allocations of the calling thread
+ * across each call are also recorded per method in the {@link MethodResourceRegistry}. They are read
+ * from the {@link ThreadResourceMeter} right around the method itself, so the aspect's own logging is not
+ * included, but nested calls are. Work a method hands to other threads is not included either.
+ *
+ * Failures are grouped by {@link ExceptionFingerprints}: the stack trace of a fingerprint is logged
+ * once per window, later failures with the same fingerprint get one compact line with a count.
+ *
+ * With 'logging.aspect.call-tree=true' the per-call lines are replaced by one {@link CallTree}
+ * event per outermost call on a thread, e.g. one per request, carrying its correlation ID.
+ * With 'logging.aspect.spool.enabled=true' every call's enter and exit (or error) is written to
+ * the binary {@link EventSpool}, unsampled, instead of the entry/exit lines.
+ *
+ * Whether the aspect handles a method, the level of its entry/exit lines and whether arguments
+ * are captured are read per call from the current {@link LoggingSettings} snapshot, and can be
+ * changed per class or method at runtime. A disabled method costs one volatile load and a
+ * descriptor lookup; with everything disabled the lookup is skipped as well.
+ *
+ * With compile-time weaving ({@code ./gradlew build -Pweaving=ctw}) ajc weaves the advice
+ * into the @BeforeLog methods themselves and Spring no longer creates proxies for it.
+ * AspectJ then creates its own instance through the no-arg constructor; that instance
+ * delegates to the Spring-configured bean, and simply proceeds while there is none
+ * (e.g. with 'logging.aspect.enabled=false').
+ * Its position relative to the other aspects is set by {@link AspectOrder}.
  */
 @ConditionalOnProperty(name = "logging.aspect.enabled", havingValue = "true")
 @Component
 @Aspect
+@Order(AspectOrder.LOGGING)
 public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    // The Spring-configured instance that woven advice delegates to
+    private static final AtomicReference<LoggingAspect> configured = new AtomicReference<>();
+
+    private final boolean weaverInstance;
+    private final Map<Method, MethodDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final ArgumentRenderer renderer;
+    private final MethodLatencyRegistry latencyRegistry;
+    private final DeferredResultCompletionTracker deferredResults;
+    private final boolean timingLog;
+    private final boolean callTree;
+    private final EventSpool eventSpool;
+    private final LoggingSettingsStore settings;
+    private final ExceptionFingerprints exceptionFingerprints;
+    private final MethodResourceRegistry resourceRegistry;
+    private final ThreadResourceMeter resourceMeter;
+
     /**
-     * Logs method entry with parameters before execution.
+     * Used by AspectJ to create the aspect singleton in compile-time weaving mode.
      */
-    @Before("@annotation(com.self.AOP.practice.aspects.BeforeLog)")
-    public void logBeforeServiceMethods(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getSignature().getDeclaringTypeName();
-        Object[] args = joinPoint.getArgs();
-
-        logger.info("Entering method: {}.{} with arguments: {}",
-                className, methodName, Arrays.toString(args));
+    public LoggingAspect() {
+        this.weaverInstance = true;
+        this.renderer = null;
+        this.latencyRegistry = null;
+        this.deferredResults = null;
+        this.timingLog = false;
+        this.callTree = false;
+        this.eventSpool = null;
+        this.settings = null;
+        this.exceptionFingerprints = null;
+        this.resourceRegistry = null;
+        this.resourceMeter = null;
     }
 
     /**
-     * Logs method exit with return value after successful execution.
+     * The event spool is only present with 'logging.aspect.spool.enabled=true'.
      */
-    @AfterReturning(pointcut = "@annotation(com.self.AOP.practice.aspects.BeforeLog)",
-                    returning = "result")
-    public void logAfterReturning(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getName();
-        logger.info("Method {} completed successfully. Return value: {}",
-                methodName, result);
+    @Autowired
+    public LoggingAspect(LoggingAspectProperties properties, MethodLatencyRegistry latencyRegistry,
+                         DeferredResultCompletionTracker deferredResults, @Nullable EventSpool eventSpool,
+                         LoggingSettingsStore settings, ExceptionFingerprints exceptionFingerprints,
+                         MethodResourceRegistry resourceRegistry) {
+        this.weaverInstance = false;
+        this.renderer = new ArgumentRenderer(properties.getRender());
+        this.latencyRegistry = latencyRegistry;
+        this.deferredResults = deferredResults;
+        this.timingLog = properties.isTimingLog();
+        this.callTree = properties.isCallTree();
+        this.eventSpool = eventSpool;
+        this.settings = settings;
+        this.exceptionFingerprints = exceptionFingerprints;
+        this.resourceMeter = properties.isResourceUsage() ? ThreadResourceMeter.create() : null;
+        this.resourceRegistry = resourceMeter != null ? resourceRegistry : null;
+    }
+
+    @PostConstruct
+    void registerForWeaving() {
+        configured.set(this);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        configured.compareAndSet(this, null);
+        flushSuppressed();
     }
 
     /**
-     * Logs exceptions thrown by methods.
+     * Reports the calls suppressed by sampling since the last summary. A summary is otherwise only
+     * logged by the next sampled call, so without this the last counts are lost when traffic stops.
      */
-    @AfterThrowing(pointcut = "@annotation(com.self.AOP.practice.aspects.BeforeLog)",
-                   throwing = "exception")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable exception) {
-        String methodName = joinPoint.getSignature().getName();
-        logger.error("Method {} threw exception: {}",
-                methodName, exception.getMessage(), exception);
+    void flushSuppressed() {
+        for (MethodDescriptor descriptor : descriptors.values()) {
+            EventSampler sampler = descriptor.getSampler();
+            long suppressed = sampler != null ? sampler.drainPendingSuppressed() : 0;
+            if (suppressed > 0) {
+                logger.info("Suppressed {} log events for {} since the last summary",
+                        suppressed, descriptor.getShortSignature());
+            }
+        }
     }
 
     /**
-     * Tracks execution time of methods using Around advice.
-     * This provides comprehensive timing information.
+     * Logs method entry with parameters, the return value or exception,
+     * and the execution time of every @BeforeLog method.
+     * Limited to execution join points so that ajc does not also weave every call site.
      */
-    @Around("@annotation(com.self.AOP.practice.aspects.BeforeLog)")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().toShortString();
+    @Around("execution(* *(..)) && @annotation(com.self.AOP.practice.aspects.BeforeLog)")
+    public Object logInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (weaverInstance) {
+            LoggingAspect target = configured.get();
+            return target != null ? target.logInvocation(joinPoint) : joinPoint.proceed();
+        }
+        LoggingSettings snapshot = settings.get();
+        if (snapshot.isAllDisabled()) {
+            return joinPoint.proceed();
+        }
+        MethodDescriptor descriptor = descriptorFor(joinPoint);
+        LoggingSettings.Target target = descriptor.settingsFor(snapshot);
+        if (!target.enabled()) {
+            return joinPoint.proceed();
+        }
+        long startTime = System.nanoTime();
+        CallTree.Node span = callTree ? CallTree.enter(descriptor.getShortSignature(), startTime) : null;
+        // Calls inside a batch are counted there instead of being logged
+        BatchScope batch = BatchScope.current();
+        // The settings the entry/exit lines are written with, or null when there are none
+        LoggingSettings.Target lines = span == null && batch == null && eventSpool == null
+                && target.level() != LogLevel.OFF && sample(descriptor, startTime) ? target : null;
+        spool(EventSpool.Status.ENTER, descriptor, startTime, 0);
 
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
+        if (lines != null && isEnabled(lines.level())) {
+            if (lines.captureArguments()) {
+                log(lines.level(), "Entering method: {}.{} with arguments: {}",
+                        descriptor.getClassName(), descriptor.getMethodName(),
+                        renderer.renderArguments(descriptor, joinPoint.getArgs()));
+            } else {
+                log(lines.level(), "Entering method: {}.{}", descriptor.getClassName(), descriptor.getMethodName());
+            }
+        }
 
-            logger.debug("Method {} executed in {} ms", methodName, executionTime);
-            return result;
+        BatchScope opened = descriptor.isBatch() ? BatchScope.open() : null;
+        ResourceUsage usage = descriptor.getResourceUsage();
+        long cpuStart = usage != null ? resourceMeter.cpuTime() : 0;
+        long allocatedStart = usage != null ? resourceMeter.allocatedBytes() : 0;
+        Object result;
+        try {
+            result = joinPoint.proceed();
         } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("Method {} failed after {} ms", methodName, executionTime);
+            recordResources(usage, cpuStart, allocatedStart);
+            endBatch(opened, descriptor, target, startTime);
+            endSpan(span, throwable, false);
+            logFailure(descriptor, startTime, batch, throwable);
             throw throwable;
         }
+        recordResources(usage, cpuStart, allocatedStart);
+        endBatch(opened, descriptor, target, startTime);
+        endSpan(span, null, result instanceof CompletionStage || result instanceof Callable
+                || result instanceof DeferredResult);
+
+        if (result instanceof CompletionStage<?> stage) {
+            CorrelationContext.Snapshot context = CorrelationContext.capture();
+            stage.whenComplete((value, error) ->
+                    context.run(() -> complete(descriptor, startTime, batch, lines, value, error)));
+            return result;
+        }
+        if (result instanceof Callable<?> callable) {
+            return timed(callable, descriptor, startTime, batch, lines);
+        }
+        if (result instanceof DeferredResult<?> deferredResult && deferredResults != null) {
+            CorrelationContext.Snapshot context = CorrelationContext.capture();
+            deferredResults.track(deferredResult, (value, error) ->
+                    context.run(() -> complete(descriptor, startTime, batch, lines, value, error)));
+            return result;
+        }
+        complete(descriptor, startTime, batch, lines, result, null);
+        return result;
+    }
+
+    /**
+     * Records the CPU time and allocations of the calling thread since the given readings.
+     */
+    private void recordResources(ResourceUsage usage, long cpuStart, long allocatedStart) {
+        if (usage == null) {
+            return;
+        }
+        long allocated = elapsed(allocatedStart, resourceMeter.allocatedBytes());
+        long cpu = elapsed(cpuStart, resourceMeter.cpuTime());
+        usage.record(cpu, allocated);
+    }
+
+    /**
+     * Difference of two meter readings, or -1 when either could not be taken.
+     */
+    private static long elapsed(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    /**
+     * Closes the batch opened by the call and logs its summary at the method's level.
+     */
+    private void endBatch(BatchScope opened, MethodDescriptor descriptor, LoggingSettings.Target target,
+                          long startTime) {
+        if (opened == null) {
+            return;
+        }
+        opened.close();
+        if (isEnabled(target.level())) {
+            log(target.level(), "Batch {} finished in {} ms with {} item calls: {}", descriptor.getShortSignature(),
+                    toMillis(System.nanoTime() - startTime), opened.count(), opened.summary());
+        }
+    }
+
+    /**
+     * Closes the call's span and logs the tree once the outermost call has returned.
+     */
+    private void endSpan(CallTree.Node span, Throwable error, boolean async) {
+        if (span == null) {
+            return;
+        }
+        CallTree.Node root = CallTree.exit(span, System.nanoTime(), error, async);
+        if (root != null && logger.isInfoEnabled()) {
+            logger.info("{}", root.toJson());
+        }
+    }
+
+    /**
+     * Wraps a Callable so the call is timed up to the end of {@link Callable#call()}.
+     */
+    private Callable<Object> timed(Callable<?> callable, MethodDescriptor descriptor, long startTime,
+                                   BatchScope batch, LoggingSettings.Target lines) {
+        CorrelationContext.Snapshot context = CorrelationContext.capture();
+        return () -> {
+            Object value;
+            try {
+                value = callable.call();
+            } catch (Throwable throwable) {
+                context.run(() -> logFailure(descriptor, startTime, batch, throwable));
+                throw throwable;
+            }
+            context.run(() -> complete(descriptor, startTime, batch, lines, value, null));
+            return value;
+        };
+    }
+
+    /**
+     * Records the latency and logs the outcome of a call, synchronous or not.
+     */
+    private void complete(MethodDescriptor descriptor, long startTime, BatchScope batch, LoggingSettings.Target lines,
+                          Object result, Throwable error) {
+        if (error != null) {
+            logFailure(descriptor, startTime, batch, unwrap(error));
+            return;
+        }
+        long elapsed = System.nanoTime() - startTime;
+        descriptor.getLatency().record(elapsed);
+        if (batch != null) {
+            batch.record(descriptor, elapsed, false);
+        }
+        spool(EventSpool.Status.EXIT, descriptor, startTime + elapsed, elapsed);
+
+        if (lines != null) {
+            if (isEnabled(lines.level())) {
+                if (descriptor.isThroughput() && result instanceof Number bytes) {
+                    log(lines.level(), "Method {} completed successfully: {} bytes in {} ms ({} MB/s)",
+                            descriptor.getMethodName(), bytes.longValue(), toMillis(elapsed),
+                            String.format(Locale.ROOT, "%.1f", throughput(bytes.longValue(), elapsed)));
+                } else if (lines.captureArguments()) {
+                    log(lines.level(), "Method {} completed successfully. Return value: {}",
+                            descriptor.getMethodName(), renderer.renderValue(result));
+                } else {
+                    log(lines.level(), "Method {} completed successfully", descriptor.getMethodName());
+                }
+            }
+            if (timingLog && logger.isDebugEnabled()) {
+                logger.debug("Method {} executed in {} ms", descriptor.getShortSignature(), toMillis(elapsed));
+            }
+        }
+    }
+
+    private void logFailure(MethodDescriptor descriptor, long startTime, BatchScope batch, Throwable throwable) {
+        long elapsed = System.nanoTime() - startTime;
+        descriptor.getLatency().record(elapsed);
+        if (batch != null) {
+            batch.record(descriptor, elapsed, true);
+        }
+        spool(EventSpool.Status.ERROR, descriptor, startTime + elapsed, elapsed);
+        // Failures are never sampled out, but a repeated stack trace is
+        ExceptionFingerprints.Occurrence occurrence =
+                exceptionFingerprints.record(throwable, descriptor.getShortSignature(), startTime + elapsed);
+        if (!occurrence.stackTrace()) {
+            logger.error("Method {} failed after {} ms: {}: {} (fingerprint {}, {} similar failures in this window, "
+                            + "stack trace omitted)", descriptor.getShortSignature(), toMillis(elapsed),
+                    throwable.getClass().getName(), throwable.getMessage(), occurrence.fingerprint(),
+                    occurrence.suppressed());
+            return;
+        }
+        if (occurrence.suppressed() > 0) {
+            logger.error("Method {} threw exception: {} ({} failed after {} ms, fingerprint {}, "
+                            + "{} similar failures since the last stack trace)", descriptor.getMethodName(),
+                    throwable.getMessage(), descriptor.getShortSignature(), toMillis(elapsed),
+                    occurrence.fingerprint(), occurrence.suppressed(), throwable);
+        } else {
+            logger.error("Method {} threw exception: {} ({} failed after {} ms, fingerprint {})",
+                    descriptor.getMethodName(), throwable.getMessage(), descriptor.getShortSignature(),
+                    toMillis(elapsed), occurrence.fingerprint(), throwable);
+        }
+    }
+
+    private void spool(EventSpool.Status status, MethodDescriptor descriptor, long nanoTime, long elapsed) {
+        if (eventSpool != null) {
+            eventSpool.record(status, descriptor.getEventId(), nanoTime, elapsed,
+                    CorrelationContext.get());
+        }
+    }
+
+    private static boolean isEnabled(LogLevel level) {
+        return switch (level) {
+            case TRACE -> logger.isTraceEnabled();
+            case DEBUG -> logger.isDebugEnabled();
+            case INFO -> logger.isInfoEnabled();
+            case WARN -> logger.isWarnEnabled();
+            case ERROR, FATAL -> logger.isErrorEnabled();
+            case OFF -> false;
+        };
+    }
+
+    private static void log(LogLevel level, String format, Object... arguments) {
+        switch (level) {
+            case TRACE -> logger.trace(format, arguments);
+            case DEBUG -> logger.debug(format, arguments);
+            case INFO -> logger.info(format, arguments);
+            case WARN -> logger.warn(format, arguments);
+            case ERROR, FATAL -> logger.error(format, arguments);
+            case OFF -> {
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Applies the method's sampling settings and, at most once per second,
+     * reports how many calls were not logged.
+     */
+    private boolean sample(MethodDescriptor descriptor, long now) {
+        EventSampler sampler = descriptor.getSampler();
+        if (sampler == null) {
+            return true;
+        }
+        boolean sampled = sampler.sample(now);
+        long suppressed = sampler.drainSuppressed(now);
+        if (suppressed > 0) {
+            logger.info("Suppressed {} log events for {} since the last summary",
+                    suppressed, descriptor.getShortSignature());
+        }
+        return sampled;
+    }
+
+    private MethodDescriptor descriptorFor(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodDescriptor descriptor = descriptors.get(method);
+        if (descriptor == null) {
+            descriptor = descriptors.computeIfAbsent(method,
+                    m -> MethodDescriptor.of(m, latencyRegistry, eventSpool, resourceRegistry));
+        }
+        return descriptor;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Megabytes (10^6 bytes) per second.
+     */
+    private static double throughput(long bytes, long nanos) {
+        return nanos == 0 ? 0 : bytes * 1e3 / nanos;
     }
 }
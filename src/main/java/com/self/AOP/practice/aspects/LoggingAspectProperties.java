@@ -0,0 +1,269 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tuning knobs for {@link LoggingAspect}, bound from 'logging.aspect.*'.
+ * The aspect itself is still switched on and off with 'logging.aspect.enabled'.
+ * Level, argument capture and the per-target settings are only the initial values of
+ * {@link LoggingSettingsStore}; they can be changed at runtime through /api/v1/admin/logging.
+ */
+@ConfigurationProperties(prefix = "logging.aspect")
+public class LoggingAspectProperties {
+
+    /**
+     * Whether to write a DEBUG "executed in" line per call. Latency is recorded
+     * into the per-method histograms either way.
+     */
+    private boolean timingLog = true;
+
+    /**
+     * Whether to replace the per-call entry/exit/timing lines with one call tree event per
+     * outermost @BeforeLog call, holding total and self time of every nested call.
+     * Failures are still logged as they happen.
+     */
+    private boolean callTree = false;
+
+    /**
+     * Level of the entry and exit lines. OFF keeps latency recording and failure logging.
+     */
+    private LogLevel level = LogLevel.INFO;
+
+    /**
+     * Whether arguments and return values are rendered into the entry and exit lines.
+     */
+    private boolean captureArguments = true;
+
+    /**
+     * Whether to also measure the CPU time and the heap allocations of the current thread across every
+     * call, aggregated per method at /api/v1/metrics/resources. Adds two ThreadMXBean reads per call.
+     */
+    private boolean resourceUsage = false;
+
+    /**
+     * Settings per class or method, e.g. 'logging.aspect.targets[SampleService.processData].level=DEBUG'.
+     */
+    private final Map<String, Target> targets = new LinkedHashMap<>();
+
+    private final Render render = new Render();
+
+    private final Spool spool = new Spool();
+
+    private final Exceptions exceptions = new Exceptions();
+
+    public boolean isTimingLog() {
+        return timingLog;
+    }
+
+    public void setTimingLog(boolean timingLog) {
+        this.timingLog = timingLog;
+    }
+
+    public boolean isCallTree() {
+        return callTree;
+    }
+
+    public void setCallTree(boolean callTree) {
+        this.callTree = callTree;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    public boolean isCaptureArguments() {
+        return captureArguments;
+    }
+
+    public void setCaptureArguments(boolean captureArguments) {
+        this.captureArguments = captureArguments;
+    }
+
+    public boolean isResourceUsage() {
+        return resourceUsage;
+    }
+
+    public void setResourceUsage(boolean resourceUsage) {
+        this.resourceUsage = resourceUsage;
+    }
+
+    public Map<String, Target> getTargets() {
+        return targets;
+    }
+
+    public Render getRender() {
+        return render;
+    }
+
+    public Spool getSpool() {
+        return spool;
+    }
+
+    public Exceptions getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Settings of one class or method; unset values fall back to the defaults above.
+     */
+    public static class Target {
+
+        private Boolean enabled;
+
+        private LogLevel level;
+
+        private Boolean captureArguments;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        public void setLevel(LogLevel level) {
+            this.level = level;
+        }
+
+        public Boolean getCaptureArguments() {
+            return captureArguments;
+        }
+
+        public void setCaptureArguments(Boolean captureArguments) {
+            this.captureArguments = captureArguments;
+        }
+    }
+
+    /**
+     * Limits applied when arguments and return values are rendered into log lines.
+     */
+    public static class Render {
+
+        /** Maximum number of characters written for a single argument or return value. */
+        private int maxLength = 256;
+
+        /** Maximum number of elements printed for arrays, collections and maps. */
+        private int maxCollectionItems = 10;
+
+        public int getMaxLength() {
+            return maxLength;
+        }
+
+        public void setMaxLength(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        public int getMaxCollectionItems() {
+            return maxCollectionItems;
+        }
+
+        public void setMaxCollectionItems(int maxCollectionItems) {
+            this.maxCollectionItems = maxCollectionItems;
+        }
+    }
+
+    /**
+     * Binary event spool ('logging.aspect.spool.*'): every call's enter/exit/error event is written to
+     * memory-mapped segment files instead of entry/exit log lines. Decode with ./gradlew decodeSpool.
+     */
+    public static class Spool {
+
+        private boolean enabled = false;
+
+        /** Directory holding the segment files. */
+        private String directory = System.getProperty("java.io.tmpdir") + "/aop-practice-spool";
+
+        /** Size of one segment file. */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        /** Number of segment files in the ring; the oldest is overwritten when all are full. */
+        private int segments = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public int getSegments() {
+            return segments;
+        }
+
+        public void setSegments(int segments) {
+            this.segments = segments;
+        }
+    }
+
+    /**
+     * Stack trace rate limiting ('logging.aspect.exceptions.*'): failures with the same fingerprint
+     * log their stack trace once per window and a compact line with a count after that.
+     */
+    public static class Exceptions {
+
+        /** How long the stack trace of a fingerprint is suppressed after it was logged; 0 logs every one. */
+        private Duration window = Duration.ofMinutes(1);
+
+        /** Number of top stack frames that, with the exception type, make up the fingerprint. */
+        private int frames = 5;
+
+        /** Maximum number of fingerprints tracked; beyond it, idle and then least recently seen ones are evicted. */
+        private int maxFingerprints = 1000;
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getFrames() {
+            return frames;
+        }
+
+        public void setFrames(int frames) {
+            this.frames = frames;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.boot.logging.LogLevel;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the runtime settings of {@link LoggingAspect}: defaults plus overrides per
+ * class or method. Changing a setting creates a new snapshot (see {@link LoggingSettingsStore}), so
+ * the advice reads everything it needs for a call with one volatile load and never locks.
+ *
+ * A target is a class ("SampleService" or its fully qualified name) or a method of a class
+ * ("SampleService.processData"). For a method the most specific match wins: the method of the
+ * fully qualified class, the method of the simple class name, then the class itself.
+ */
+public final class LoggingSettings {
+
+    /**
+     * The settings that apply to one method.
+     *
+     * @param enabled          false skips the aspect for the method: no lines, no latency, no spool events
+     * @param level            level of the entry and exit lines; OFF keeps latency and failure logging
+     * @param captureArguments whether arguments and return values are rendered into those lines
+     */
+    public record Target(boolean enabled, LogLevel level, boolean captureArguments) {
+
+        public Target {
+            if (level == null) {
+                throw new IllegalArgumentException("level must not be null");
+            }
+        }
+
+        /**
+         * A copy with the given values replaced; null keeps the current one.
+         */
+        public Target with(Boolean enabled, LogLevel level, Boolean captureArguments) {
+            return new Target(enabled != null ? enabled : this.enabled, level != null ? level : this.level,
+                    captureArguments != null ? captureArguments : this.captureArguments);
+        }
+    }
+
+    private final Target defaults;
+    private final Map<String, Target> targets;
+    private final boolean allDisabled;
+
+    private LoggingSettings(Target defaults, Map<String, Target> targets) {
+        this.defaults = defaults;
+        this.targets = Collections.unmodifiableMap(new TreeMap<>(targets));
+        this.allDisabled = !defaults.enabled() && targets.values().stream().noneMatch(Target::enabled);
+    }
+
+    public static LoggingSettings of(Target defaults, Map<String, Target> targets) {
+        return new LoggingSettings(defaults, targets);
+    }
+
+    public Target getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Overrides by target, sorted by name.
+     */
+    public Map<String, Target> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Whether every method is disabled, so the advice can proceed without looking the method up.
+     */
+    boolean isAllDisabled() {
+        return allDisabled;
+    }
+
+    /**
+     * The settings for a method: its most specific override, or the defaults.
+     */
+    Target resolve(Method method) {
+        if (targets.isEmpty()) {
+            return defaults;
+        }
+        Class<?> type = method.getDeclaringClass();
+        Target target = targets.get(type.getName() + "." + method.getName());
+        if (target == null) {
+            target = targets.get(type.getSimpleName() + "." + method.getName());
+        }
+        if (target == null) {
+            target = targets.get(type.getName());
+        }
+        if (target == null) {
+            target = targets.get(type.getSimpleName());
+        }
+        return target != null ? target : defaults;
+    }
+
+    public LoggingSettings withDefaults(Target defaults) {
+        return new LoggingSettings(defaults, targets);
+    }
+
+    public LoggingSettings withTarget(String name, Target target) {
+        Map<String, Target> updated = new TreeMap<>(targets);
+        updated.put(name, target);
+        return new LoggingSettings(defaults, updated);
+    }
+
+    public LoggingSettings withoutTarget(String name) {
+        Map<String, Target> updated = new TreeMap<>(targets);
+        updated.remove(name);
+        return new LoggingSettings(defaults, updated);
+    }
+}
@@ -0,0 +1,51 @@
+package com.self.AOP.practice.aspects;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link LoggingSettings} snapshot of {@link LoggingAspect}.
+ *
+ * The initial snapshot is built from 'logging.aspect.level', 'logging.aspect.capture-arguments'
+ * and 'logging.aspect.targets.*'. Updates replace the snapshot as a whole; they are serialized,
+ * reads are a single volatile load.
+ */
+@Component
+public class LoggingSettingsStore {
+
+    private final LoggingSettings initial;
+    private volatile LoggingSettings current;
+
+    public LoggingSettingsStore(LoggingAspectProperties properties) {
+        LoggingSettings.Target defaults = new LoggingSettings.Target(true, properties.getLevel(),
+                properties.isCaptureArguments());
+        Map<String, LoggingSettings.Target> targets = new TreeMap<>();
+        properties.getTargets().forEach((name, target) -> targets.put(name,
+                defaults.with(target.getEnabled(), target.getLevel(), target.getCaptureArguments())));
+        this.initial = LoggingSettings.of(defaults, targets);
+        this.current = initial;
+    }
+
+    public LoggingSettings get() {
+        return current;
+    }
+
+    /**
+     * Applies the change to the current snapshot and publishes the result.
+     */
+    public synchronized LoggingSettings update(UnaryOperator<LoggingSettings> change) {
+        current = change.apply(current);
+        return current;
+    }
+
+    /**
+     * Goes back to the configured settings.
+     */
+    public synchronized LoggingSettings reset() {
+        current = initial;
+        return current;
+    }
+}
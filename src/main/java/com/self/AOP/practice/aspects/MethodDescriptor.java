@@ -0,0 +1,206 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.logging.EventSpool;
+import com.self.AOP.practice.metrics.LatencyHistogram;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import com.self.AOP.practice.metrics.ResourceUsage;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.StringJoiner;
+
+/**
+ * Per-method metadata used by the logging aspect.
+ * Everything here is derived from the {@link Method} once and then reused,
+ * so intercepted calls never rebuild signature strings. The descriptor also
+ * carries the method's latency histogram so recording needs no lookup.
+ */
+public final class MethodDescriptor {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final Method method;
+    private final String className;
+    private final String methodName;
+    private final String shortSignature;
+    private final String[] parameterNames;
+    private final boolean[] redacted;
+    private final String key;
+    private final LatencyHistogram latency;
+    private final ResourceUsage resourceUsage;
+    private final EventSampler sampler;
+    private final int eventId;
+    private final boolean batch;
+    private final boolean throughput;
+    // Settings resolved from the snapshot they belong to; racy but safe, the record is immutable
+    private Resolved resolved;
+
+    private MethodDescriptor(Method method, MethodLatencyRegistry latencyRegistry, EventSpool eventSpool,
+                             MethodResourceRegistry resourceRegistry) {
+        this.method = method;
+        this.className = method.getDeclaringClass().getName();
+        this.methodName = method.getName();
+        // Same shape as JoinPoint.getSignature().toShortString(), e.g. "SampleService.greetUser(..)"
+        this.shortSignature = method.getDeclaringClass().getSimpleName() + "." + methodName
+                + (method.getParameterCount() == 0 ? "()" : "(..)");
+        this.parameterNames = resolveParameterNames(method);
+        this.redacted = resolveRedactedParameters(method);
+        this.key = keyOf(method);
+        this.latency = latencyRegistry != null ? latencyRegistry.histogramFor(key) : new LatencyHistogram();
+        this.resourceUsage = resourceRegistry != null ? resourceRegistry.usageFor(key) : null;
+        BeforeLog annotation = AnnotationUtils.findAnnotation(method, BeforeLog.class);
+        this.sampler = EventSampler.forAnnotation(annotation);
+        this.batch = annotation != null && annotation.batch();
+        this.throughput = annotation != null && annotation.throughput();
+        this.eventId = eventSpool != null ? eventSpool.register(className, methodName, shortSignature) : -1;
+    }
+
+    /**
+     * Creates the descriptor of a method. Its latency histogram is registered under {@link #getKey()}
+     * in the latency registry, it gets an event ID from the spool (see {@link #getEventId()}) and it
+     * accumulates CPU time and allocations in the resource registry (see {@link #getResourceUsage()});
+     * each of them may be null to leave that part out.
+     */
+    public static MethodDescriptor of(Method method, MethodLatencyRegistry latencyRegistry, EventSpool eventSpool,
+                                      MethodResourceRegistry resourceRegistry) {
+        return new MethodDescriptor(method, latencyRegistry, eventSpool, resourceRegistry);
+    }
+
+    /**
+     * The key used for a method in the metric registries, see {@link #getKey()}.
+     */
+    static String keyOf(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getSimpleName());
+        }
+        return method.getDeclaringClass().getName() + "." + method.getName() + parameters;
+    }
+
+    private static String[] resolveParameterNames(Method method) {
+        String[] names = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        if (names != null) {
+            return names;
+        }
+        names = new String[method.getParameterCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "arg" + i;
+        }
+        return names;
+    }
+
+    private static boolean[] resolveRedactedParameters(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        boolean[] redacted = new boolean[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof Redact) {
+                    redacted[i] = true;
+                    break;
+                }
+            }
+        }
+        return redacted;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getShortSignature() {
+        return shortSignature;
+    }
+
+    /**
+     * Unique, human readable key, e.g. "com.self.AOP.practice.service.SampleService.greetUser(String)".
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * CPU time and allocations of the method's calls, or null when they are not measured.
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    /**
+     * Sampler for entry/exit lines, or null when every call is logged.
+     */
+    public EventSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * ID of the method in the event spool, or -1 when it was created without one.
+     */
+    public int getEventId() {
+        return eventId;
+    }
+
+    /**
+     * The method's settings in the given snapshot, resolved once per snapshot.
+     */
+    LoggingSettings.Target settingsFor(LoggingSettings settings) {
+        Resolved cached = resolved;
+        if (cached == null || cached.settings() != settings) {
+            cached = new Resolved(settings, settings.resolve(method));
+            resolved = cached;
+        }
+        return cached.target();
+    }
+
+    /**
+     * Whether the method is a batch whose nested calls are summarized, see {@link BeforeLog#batch()}.
+     */
+    public boolean isBatch() {
+        return batch;
+    }
+
+    /**
+     * Whether the return value is a byte count to report with the throughput, see {@link BeforeLog#throughput()}.
+     */
+    public boolean isThroughput() {
+        return throughput;
+    }
+
+    public int getParameterCount() {
+        return parameterNames.length;
+    }
+
+    public String getParameterName(int index) {
+        return parameterNames[index];
+    }
+
+    /**
+     * Whether the parameter at the given index is annotated with {@link Redact}.
+     */
+    public boolean isRedacted(int index) {
+        return redacted[index];
+    }
+
+    @Override
+    public String toString() {
+        return shortSignature;
+    }
+
+    private record Resolved(LoggingSettings settings, LoggingSettings.Target target) {
+    }
+}
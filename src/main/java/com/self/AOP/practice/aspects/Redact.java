@@ -0,0 +1,17 @@
+package com.self.AOP.practice.aspects;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a parameter of a @BeforeLog method whose value must never be written to the logs.
+ * The logging aspect prints a fixed placeholder instead of rendering the argument.
+ *
+ * @see ArgumentRenderer
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Redact {
+}
@@ -0,0 +1,107 @@
+package com.self.AOP.practice.aspects;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The in-flight calls of one {@link Coalesce} method.
+ *
+ * The first caller for a key becomes the leader and runs the call; callers arriving while it runs
+ * wait on the leader's future, for at most the given time: a follower whose wait expires runs the
+ * call itself, so a hung leader delays its followers but never blocks them. The entry is removed
+ * before the future is completed, so a caller arriving afterwards starts a new call and no result
+ * outlives its call. A leader calling the method again with the same key runs it directly rather
+ * than waiting for itself.
+ */
+public final class SingleFlight {
+
+    private final ConcurrentHashMap<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * Runs the call for the key, or joins the one already running for at most maxWaitMillis.
+     * Joined callers get the leader's result object or rethrow the leader's exception instance.
+     */
+    public Object execute(Object key, long maxWaitMillis, Call call) throws Throwable {
+        Thread current = Thread.currentThread();
+        Flight flight = new Flight(current);
+        Flight running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            if (running.leader == current) {
+                return call.run();
+            }
+            coalesced.increment();
+            try {
+                return await(running, maxWaitMillis);
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                executions.increment();
+                return call.run();
+            }
+        }
+
+        executions.increment();
+        Object result;
+        try {
+            result = call.run();
+        } catch (Throwable throwable) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(throwable);
+            throw throwable;
+        }
+        flights.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    private static Object await(Flight flight, long maxWaitMillis) throws Throwable {
+        try {
+            return flight.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Coalesced calls that gave up waiting for the leader and ran the call themselves.
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    /**
+     * The work being coalesced, e.g. {@code joinPoint::proceed}.
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object run() throws Throwable;
+    }
+
+    private static final class Flight extends CompletableFuture<Object> {
+
+        private final Thread leader;
+
+        Flight(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
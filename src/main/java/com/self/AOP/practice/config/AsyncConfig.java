@@ -0,0 +1,23 @@
+package com.self.AOP.practice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async on the auto-configured 'applicationTaskExecutor'.
+ *
+ * Spring Boot applies the {@link TaskDecorator} bean below to that executor. With
+ * 'spring.threads.virtual.enabled=true' (on a Java 21+ runtime) both Tomcat request
+ * handling and the executor use virtual threads; otherwise a platform thread pool is used.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
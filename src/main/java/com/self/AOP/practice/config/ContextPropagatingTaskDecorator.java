@@ -0,0 +1,21 @@
+package com.self.AOP.practice.config;
+
+import com.self.AOP.practice.logging.CorrelationContext;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's correlation ID (see {@link CorrelationContext}) and MDC
+ * over to the thread that runs the task.
+ *
+ * The context is captured when the task is submitted. The worker's own context is restored
+ * afterwards, so pooled threads never keep a previous request's correlation ID and
+ * tasks submitted without a context run with an empty MDC.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        CorrelationContext.Snapshot captured = CorrelationContext.capture();
+        return () -> captured.run(runnable);
+    }
+}
@@ -0,0 +1,26 @@
+package com.self.AOP.practice.config;
+
+import com.self.AOP.practice.aspects.LoggingAspectProperties;
+import com.self.AOP.practice.logging.EventSpool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Opens the binary {@link EventSpool} used by LoggingAspect when 'logging.aspect.spool.enabled=true'.
+ * The spool is forced to disk and closed with the context.
+ */
+@Configuration
+@ConditionalOnProperty(name = "logging.aspect.spool.enabled", havingValue = "true")
+public class EventSpoolConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventSpool eventSpool(LoggingAspectProperties properties) throws IOException {
+        LoggingAspectProperties.Spool spool = properties.getSpool();
+        return new EventSpool(Paths.get(spool.getDirectory()),
+                Math.toIntExact(spool.getSegmentSize().toBytes()), spool.getSegments());
+    }
+}
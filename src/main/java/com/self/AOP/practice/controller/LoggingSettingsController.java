@@ -0,0 +1,74 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.aspects.LoggingSettings;
+import com.self.AOP.practice.aspects.LoggingSettingsStore;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin endpoints for changing the LoggingAspect settings at runtime, per class or method.
+ * Every change takes effect on the next intercepted call and returns the new snapshot.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/logging")
+public class LoggingSettingsController {
+
+    private final LoggingSettingsStore store;
+
+    public LoggingSettingsController(LoggingSettingsStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Request body for a change; fields that are left out keep their current value.
+     */
+    public record TargetUpdate(Boolean enabled, LogLevel level, Boolean captureArguments) {
+    }
+
+    /**
+     * The current defaults and overrides.
+     */
+    @GetMapping
+    public ResponseEntity<LoggingSettings> settings() {
+        return ResponseEntity.ok(store.get());
+    }
+
+    /**
+     * Changes the settings of every method without an override.
+     */
+    @PutMapping("/defaults")
+    public ResponseEntity<LoggingSettings> updateDefaults(@RequestBody TargetUpdate update) {
+        return ResponseEntity.ok(store.update(settings -> settings.withDefaults(
+                settings.getDefaults().with(update.enabled(), update.level(), update.captureArguments()))));
+    }
+
+    /**
+     * Sets the override of a class or method, e.g. "SampleService" or "SampleService.processData".
+     * A new override starts from the current defaults.
+     */
+    @PutMapping("/targets/{target}")
+    public ResponseEntity<LoggingSettings> updateTarget(@PathVariable String target, @RequestBody TargetUpdate update) {
+        return ResponseEntity.ok(store.update(settings -> {
+            LoggingSettings.Target current = settings.getTargets().getOrDefault(target, settings.getDefaults());
+            return settings.withTarget(target,
+                    current.with(update.enabled(), update.level(), update.captureArguments()));
+        }));
+    }
+
+    /**
+     * Removes the override of a class or method, so the defaults apply again.
+     */
+    @DeleteMapping("/targets/{target}")
+    public ResponseEntity<LoggingSettings> removeTarget(@PathVariable String target) {
+        return ResponseEntity.ok(store.update(settings -> settings.withoutTarget(target)));
+    }
+
+    /**
+     * Restores the settings from application.properties.
+     */
+    @DeleteMapping
+    public ResponseEntity<LoggingSettings> reset() {
+        return ResponseEntity.ok(store.reset());
+    }
+}
@@ -0,0 +1,32 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Admin endpoints for dropping results cached for @Cached methods, e.g. after the data behind
+ * them changed. The next call with dropped arguments runs the method again.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+public class MethodCacheController {
+
+    private final MethodCacheRegistry cacheRegistry;
+
+    public MethodCacheController(MethodCacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    /**
+     * Drops the cached results of one method, given by its key in /api/v1/metrics/cache,
+     * or of every method when none is given, and returns how many results were dropped.
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Long>> invalidate(@RequestParam(required = false) String method) {
+        long invalidated = method == null ? cacheRegistry.invalidateAll() : cacheRegistry.invalidate(method);
+        return ResponseEntity.ok(Map.of("invalidated", invalidated));
+    }
+}
@@ -0,0 +1,126 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.aspects.ExceptionFingerprints;
+import com.self.AOP.practice.filter.ResponseCacheFilter;
+import com.self.AOP.practice.logging.AsyncAppenderMetrics;
+import com.self.AOP.practice.logging.AsyncAppenderStats;
+import com.self.AOP.practice.metrics.BulkheadRegistry;
+import com.self.AOP.practice.metrics.BulkheadSummary;
+import com.self.AOP.practice.metrics.CacheSummary;
+import com.self.AOP.practice.metrics.CoalescingRegistry;
+import com.self.AOP.practice.metrics.CoalescingSummary;
+import com.self.AOP.practice.metrics.ExceptionSummary;
+import com.self.AOP.practice.metrics.LatencySummary;
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import com.self.AOP.practice.metrics.ResourceUsageSummary;
+import com.self.AOP.practice.metrics.ResponseCacheSummary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller exposing the metrics recorded by the aspects.
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class MetricsController {
+
+    private final MethodLatencyRegistry latencyRegistry;
+    private final MethodResourceRegistry resourceRegistry;
+    private final AsyncAppenderMetrics asyncAppenderMetrics;
+    private final MethodCacheRegistry cacheRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CoalescingRegistry coalescingRegistry;
+    private final ExceptionFingerprints exceptionFingerprints;
+    private final ResponseCacheFilter responseCache;
+
+    public MetricsController(MethodLatencyRegistry latencyRegistry, MethodResourceRegistry resourceRegistry,
+                             AsyncAppenderMetrics asyncAppenderMetrics, MethodCacheRegistry cacheRegistry,
+                             BulkheadRegistry bulkheadRegistry, CoalescingRegistry coalescingRegistry,
+                             ExceptionFingerprints exceptionFingerprints, ResponseCacheFilter responseCache) {
+        this.latencyRegistry = latencyRegistry;
+        this.resourceRegistry = resourceRegistry;
+        this.asyncAppenderMetrics = asyncAppenderMetrics;
+        this.cacheRegistry = cacheRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.coalescingRegistry = coalescingRegistry;
+        this.exceptionFingerprints = exceptionFingerprints;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Per-method latency percentiles in nanoseconds.
+     * With reset=true the histograms are cleared after reading, so each call reports one interval.
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<Map<String, LatencySummary>> latency(
+            @RequestParam(defaultValue = "false") boolean reset) {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        latencyRegistry.snapshot(reset).forEach((method, snapshot) ->
+                summaries.put(method, LatencySummary.from(snapshot)));
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Per-method CPU time (nanoseconds) and heap allocations (bytes) of the calling thread: total, mean
+     * and max, keyed like /latency. Empty unless 'logging.aspect.resource-usage' is on.
+     * With reset=true the counters are cleared after reading, so each call reports one interval.
+     */
+    @GetMapping("/resources")
+    public ResponseEntity<Map<String, ResourceUsageSummary>> resources(
+            @RequestParam(defaultValue = "false") boolean reset) {
+        return ResponseEntity.ok(resourceRegistry.snapshot(reset));
+    }
+
+    /**
+     * Queue depth and drop counters of the asynchronous log appenders.
+     */
+    @GetMapping("/logging")
+    public ResponseEntity<Map<String, AsyncAppenderStats>> logging() {
+        return ResponseEntity.ok(asyncAppenderMetrics.snapshot());
+    }
+
+    /**
+     * Size, hit/miss, eviction and load statistics of every @Cached method.
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, CacheSummary>> cache() {
+        return ResponseEntity.ok(cacheRegistry.snapshot());
+    }
+
+    /**
+     * Limit, in-flight, queued, accepted and rejected counts of every @Bulkhead.
+     */
+    @GetMapping("/bulkhead")
+    public ResponseEntity<Map<String, BulkheadSummary>> bulkhead() {
+        return ResponseEntity.ok(bulkheadRegistry.snapshot());
+    }
+
+    /**
+     * Executed and coalesced call counts of every @Coalesce method.
+     */
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, CoalescingSummary>> coalescing() {
+        return ResponseEntity.ok(coalescingRegistry.snapshot());
+    }
+
+    /**
+     * Occurrence counters of every exception fingerprint seen by the logging aspect, most frequent first.
+     */
+    @GetMapping("/exceptions")
+    public ResponseEntity<Map<String, ExceptionSummary>> exceptions() {
+        return ResponseEntity.ok(exceptionFingerprints.snapshot());
+    }
+
+    /**
+     * Cached ETag and size, hits, 304s and misses of every path served by the response cache.
+     */
+    @GetMapping("/response-cache")
+    public ResponseEntity<Map<String, ResponseCacheSummary>> responseCache() {
+        return ResponseEntity.ok(responseCache.snapshot());
+    }
+}
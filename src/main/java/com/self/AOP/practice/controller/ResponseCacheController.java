@@ -0,0 +1,32 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.filter.ResponseCacheFilter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Admin endpoints for dropping responses cached by {@link ResponseCacheFilter}, e.g. after the
+ * data behind them changed. The next request for a dropped path goes to the controller again.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/response-cache")
+public class ResponseCacheController {
+
+    private final ResponseCacheFilter responseCache;
+
+    public ResponseCacheController(ResponseCacheFilter responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Drops the cached response of one path, or of every path when none is given,
+     * and returns how many responses were dropped.
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> invalidate(@RequestParam(required = false) String path) {
+        int invalidated = path == null ? responseCache.invalidateAll() : responseCache.invalidate(path) ? 1 : 0;
+        return ResponseEntity.ok(Map.of("invalidated", invalidated));
+    }
+}
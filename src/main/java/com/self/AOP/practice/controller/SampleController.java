@@ -1,18 +1,38 @@
 package com.self.AOP.practice.controller;
 
 import com.self.AOP.practice.aspects.BeforeLog;
+import com.self.AOP.practice.aspects.Bulkhead;
 import com.self.AOP.practice.service.SampleService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST Controller for sample operations.
  * Demonstrates AOP logging with various endpoint types.
+ * The blocking greeting endpoint is behind a bulkhead, so a slow service cannot tie up every servlet thread;
+ * the async variant hands its work to the @Async executor and frees the servlet thread at once.
+ * The batch variant streams any number of greetings through one request.
  */
 @RestController
 @RequestMapping("/api/v1")
 public class SampleController {
 
+    static final int MAX_NAME_LENGTH = 256;
+
     private final SampleService sampleService;
 
     // Constructor injection - preferred over field injection
@@ -35,8 +55,69 @@ public class SampleController {
 
     @GetMapping("/greet/{name}")
     @BeforeLog
+    @Bulkhead(maxConcurrent = 32, maxQueued = 16, queueTimeout = 50)
     public ResponseEntity<String> greetUser(@PathVariable String name) {
         String greeting = sampleService.greetUser(name);
         return ResponseEntity.ok(greeting);
     }
+
+    /**
+     * Greets a streamed list of names, one per line, and streams one greeting per line back.
+     * Neither body is held in memory as a whole: names are read and greetings written through
+     * fixed-size buffers, and longer names are cut at {@value #MAX_NAME_LENGTH} characters.
+     * Blank lines are skipped. The aspect logs the request as one batch with per-item statistics.
+     */
+    @PostMapping(value = "/greet/batch", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @BeforeLog(batch = true)
+    public void greetBatch(InputStream names, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Reader reader = new BufferedReader(new InputStreamReader(names, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        StringBuilder name = new StringBuilder(MAX_NAME_LENGTH);
+        while (readLine(reader, name)) {
+            if (!name.toString().isBlank()) {
+                writer.write(sampleService.greetUser(name.toString().trim()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads the next line into the builder, keeping at most MAX_NAME_LENGTH characters.
+     * Returns false at the end of the input.
+     */
+    private static boolean readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0 && c != '\n') {
+            if (c != '\r' && line.length() < MAX_NAME_LENGTH) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+
+    /**
+     * Upper-cases a request body of any size with {@link SampleService#processDataStream}, streaming
+     * the result back in chunks as it is produced. The body is expected in UTF-8.
+     */
+    @PostMapping(value = "/data/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @BeforeLog
+    public void processDataStream(InputStream input, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        sampleService.processDataStream(Channels.newChannel(input), Channels.newChannel(response.getOutputStream()));
+    }
+
+    @GetMapping("/greet/{name}/async")
+    @BeforeLog
+    public CompletableFuture<ResponseEntity<String>> greetUserAsync(@PathVariable String name) {
+        return sampleService.greetUserAsync(name).thenApply(ResponseEntity::ok);
+    }
 }
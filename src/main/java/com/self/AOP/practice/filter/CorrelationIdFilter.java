@@ -1,22 +1,62 @@
 package com.self.AOP.practice.filter;
 
+import com.self.AOP.practice.logging.CorrelationContext;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.regex.Pattern;
 
 /**
  * Filter to capture and propagate correlation ID across requests.
  * Extracts X-CorrelationId from request header or generates a new one.
+ *
+ * Inbound IDs are capped in length and checked against a pattern so clients cannot
+ * push arbitrary text into every log line; rejected IDs are replaced with a generated one.
+ * How IDs are generated is configured with 'correlation.id.generator'.
+ *
+ * The ID is bound to the {@link CorrelationContext} of the request thread. With
+ * 'correlation.id.mdc-compatible=true' it is also put in the MDC for code that reads it there.
+ *
+ * Runs before the other filters of this application, so that everything they log carries the ID.
  */
 @Component
+@Order(CorrelationIdFilter.ORDER)
+@EnableConfigurationProperties(CorrelationIdProperties.class)
 public class CorrelationIdFilter implements Filter {
 
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationIdFilter.class);
+
     private static final String CORRELATION_ID_HEADER = "X-CorrelationId";
-    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    public static final String CORRELATION_ID_MDC_KEY = CorrelationContext.MDC_KEY;
+
+    private final CorrelationIdGenerator generator;
+    private final int maxLength;
+    private final Pattern pattern;
+    private final boolean mdcCompatible;
+
+    public CorrelationIdFilter() {
+        this(new CorrelationIdProperties());
+    }
+
+    @Autowired
+    public CorrelationIdFilter(CorrelationIdProperties properties) {
+        this.generator = properties.createGenerator();
+        this.maxLength = properties.getMaxLength();
+        String regex = properties.getPattern();
+        this.pattern = regex == null || regex.isEmpty() ? null : Pattern.compile(regex);
+        this.mdcCompatible = properties.isMdcCompatible();
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -27,17 +67,32 @@ public class CorrelationIdFilter implements Filter {
         // Extract correlation ID from header or generate new one
         String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.trim().isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = generator.generate();
+        } else if (!isValid(correlationId)) {
+            logger.debug("Rejected inbound {} header of length {}", CORRELATION_ID_HEADER, correlationId.length());
+            correlationId = generator.generate();
         }
 
-        // Store in MDC for logging
-        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        String previous = CorrelationContext.bind(correlationId);
+        if (mdcCompatible) {
+            MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        }
 
         try {
             chain.doFilter(request, response);
         } finally {
-            // Clean up MDC
-            MDC.remove(CORRELATION_ID_MDC_KEY);
+            // Clean up, also on error dispatches that run the filter again
+            CorrelationContext.bind(previous);
+            if (mdcCompatible) {
+                MDC.remove(CORRELATION_ID_MDC_KEY);
+            }
+        }
+    }
+
+    private boolean isValid(String correlationId) {
+        if (correlationId.length() > maxLength) {
+            return false;
         }
+        return pattern == null || pattern.matcher(correlationId).matches();
     }
 }
@@ -0,0 +1,11 @@
+package com.self.AOP.practice.filter;
+
+/**
+ * Creates correlation IDs for requests that arrive without an X-CorrelationId header.
+ * Implementations must be thread-safe and should not block.
+ */
+@FunctionalInterface
+public interface CorrelationIdGenerator {
+
+    String generate();
+}
@@ -0,0 +1,80 @@
+package com.self.AOP.practice.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for {@link CorrelationIdFilter}, bound from 'correlation.id.*'.
+ */
+@ConfigurationProperties(prefix = "correlation.id")
+public class CorrelationIdProperties {
+
+    public enum Generator {
+        RANDOM, ULID, SNOWFLAKE
+    }
+
+    /** How IDs are created for requests without an X-CorrelationId header. */
+    private Generator generator = Generator.RANDOM;
+
+    /** Node ID (0-1023) embedded in SNOWFLAKE IDs; must differ between instances. */
+    private long nodeId = 0;
+
+    /** Inbound IDs longer than this are replaced with a generated one. */
+    private int maxLength = 64;
+
+    /** Inbound IDs not matching this regex are replaced with a generated one. Empty accepts anything. */
+    private String pattern = "[A-Za-z0-9._:-]+";
+
+    /** Also put the ID in the MDC, for third-party code and patterns that read %X{correlationId}. */
+    private boolean mdcCompatible = true;
+
+    public Generator getGenerator() {
+        return generator;
+    }
+
+    public void setGenerator(Generator generator) {
+        this.generator = generator;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(long nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public void setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public boolean isMdcCompatible() {
+        return mdcCompatible;
+    }
+
+    public void setMdcCompatible(boolean mdcCompatible) {
+        this.mdcCompatible = mdcCompatible;
+    }
+
+    /**
+     * Creates the configured generator.
+     */
+    public CorrelationIdGenerator createGenerator() {
+        return switch (generator) {
+            case RANDOM -> new RandomCorrelationIdGenerator();
+            case ULID -> new UlidCorrelationIdGenerator();
+            case SNOWFLAKE -> new SnowflakeCorrelationIdGenerator(nodeId);
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.self.AOP.practice.filter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random version 4 UUID string, e.g. "3f2a8c1e-9b4d-4f6a-8e2b-1c0d5a7f9e34".
+ *
+ * Same format as {@link java.util.UUID#randomUUID()}, but the bits come from
+ * {@link ThreadLocalRandom} instead of the shared SecureRandom, so concurrent requests
+ * do not contend. The IDs are unique enough for tracing, not suitable as secrets.
+ */
+public class RandomCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;                      // version 4
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant
+
+        char[] chars = new char[36];
+        writeHex(chars, 0, high >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9, high >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, high, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, low >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, low, 12);
+        return new String(chars);
+    }
+
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.self.AOP.practice.filter;
+
+import com.self.AOP.practice.metrics.ResponseCacheSummary;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter serving the GET responses of selected paths from memory, configured with 'response.cache.*'.
+ *
+ * The first successful response of a path is stored as the encoded bytes that were sent, with a
+ * strong ETag over those bytes. Later requests get the stored bytes, or a 304 when their
+ * If-None-Match holds the ETag, without reaching the controller, the aspects or the message
+ * converters. Every response carries the ETag and a Cache-Control max-age, so clients and edge
+ * caches can answer most reads themselves.
+ *
+ * Entries live until {@link #invalidate(String)} or {@link #invalidateAll()} is called, e.g. by
+ * code that changes the data behind a path or through /api/v1/admin/response-cache. A response
+ * still being produced while its path is invalidated is not stored.
+ *
+ * Runs right after {@link CorrelationIdFilter}. Cache hits are not seen by the logging aspect,
+ * so they do not show up in the method latency histograms; they are counted here instead.
+ */
+@Component
+@Order(ResponseCacheFilter.ORDER)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheFilter implements Filter {
+
+    public static final int ORDER = CorrelationIdFilter.ORDER + 1;
+
+    private static final int ETAG_BYTES = 16;
+
+    private record Entry(byte[] body, String contentType, String etag) {
+    }
+
+    private static final class Stats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+
+    private final boolean enabled;
+    private final String cacheControl;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so that a response produced before it is not stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCacheFilter() {
+        this(new ResponseCacheProperties());
+    }
+
+    @Autowired
+    public ResponseCacheFilter(ResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        long maxAge = properties.getMaxAge().toSeconds();
+        this.cacheControl = maxAge > 0 ? "max-age=" + maxAge : "no-cache";
+        for (String path : properties.getPaths()) {
+            stats.put(path, new Stats());
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        boolean head = "HEAD".equals(httpRequest.getMethod());
+        String path = enabled && (head || "GET".equals(httpRequest.getMethod()))
+                && httpRequest.getQueryString() == null ? path(httpRequest) : null;
+        Stats pathStats = path != null ? stats.get(path) : null;
+        if (pathStats == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Entry entry = entries.get(path);
+        if (entry != null && accepts(httpRequest, entry.contentType())) {
+            if (matches(httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+                pathStats.notModified.increment();
+                notModified(httpResponse, entry.etag());
+            } else {
+                pathStats.hits.increment();
+                write(httpResponse, entry, head);
+            }
+            return;
+        }
+
+        pathStats.misses.increment();
+        if (head) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long fillGeneration = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(httpResponse);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapper.copyBodyToResponse();
+            throw e;
+        }
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted()
+                || wrapper.containsHeader(HttpHeaders.SET_COOKIE)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        Entry filled = new Entry(body, wrapper.getContentType(), etag(body));
+        if (generation.get() == fillGeneration) {
+            entries.put(path, filled);
+            // An invalidation between the check and the put may have missed the new entry
+            if (generation.get() != fillGeneration) {
+                entries.remove(path, filled);
+            }
+        }
+        if (matches(httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH), filled.etag())) {
+            wrapper.resetBuffer();
+            notModified(httpResponse, filled.etag());
+            return;
+        }
+        wrapper.setHeader(HttpHeaders.ETAG, filled.etag());
+        wrapper.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Drops the cached response of one path; the next request for it goes to the controller again.
+     * Returns whether a response was cached.
+     */
+    public boolean invalidate(String path) {
+        generation.incrementAndGet();
+        return entries.remove(path) != null;
+    }
+
+    /**
+     * Drops every cached response and returns how many there were.
+     */
+    public int invalidateAll() {
+        generation.incrementAndGet();
+        int invalidated = 0;
+        for (String path : stats.keySet()) {
+            if (entries.remove(path) != null) {
+                invalidated++;
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * Cache state and counters of every configured path, in configuration order.
+     */
+    public Map<String, ResponseCacheSummary> snapshot() {
+        Map<String, ResponseCacheSummary> summaries = new LinkedHashMap<>();
+        stats.forEach((path, pathStats) -> {
+            Entry entry = entries.get(path);
+            summaries.put(path, new ResponseCacheSummary(entry != null ? entry.etag() : null,
+                    entry != null ? entry.body().length : null, pathStats.hits.sum(),
+                    pathStats.notModified.sum(), pathStats.misses.sum()));
+        });
+        return summaries;
+    }
+
+    private static String path(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+
+    private void write(HttpServletResponse response, Entry entry, boolean head) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setContentLength(entry.body().length);
+        if (!head) {
+            response.getOutputStream().write(entry.body());
+        }
+    }
+
+    private void notModified(HttpServletResponse response, String etag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    /**
+     * Whether the request's Accept header allows the cached content type. Requests that do not
+     * are passed through, so the controller answers them as it would without the cache.
+     */
+    private static boolean accepts(HttpServletRequest request, String contentType) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.equals("*/*") || contentType == null) {
+            return true;
+        }
+        try {
+            MediaType cached = MediaType.parseMediaType(contentType);
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            return accepted.stream().anyMatch(type -> type.isCompatibleWith(cached));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Weak comparison as If-None-Match requires: a W/ prefix is ignored and * matches any ETag.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strong ETag: the first 128 bits of the SHA-256 of the encoded body, in hex.
+     */
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.self.AOP.practice.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for {@link ResponseCacheFilter}, bound from 'response.cache.*'.
+ */
+@ConfigurationProperties(prefix = "response.cache")
+public class ResponseCacheProperties {
+
+    /** Whether responses of the configured paths are cached; false passes every request through. */
+    private boolean enabled = true;
+
+    /** Request paths whose GET responses are cached, matched exactly and without a query string. */
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/hello", "/api/v1/data"));
+
+    /** Sent as Cache-Control max-age; zero sends no-cache, so clients revalidate on every use. */
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,63 @@
+package com.self.AOP.practice.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style 64-bit ID: 41 bits of milliseconds since 2024-01-01T00:00Z, a 10-bit
+ * node ID and a 12-bit per-millisecond sequence, written as 16 lowercase hex digits.
+ *
+ * IDs from one node are strictly increasing. The last timestamp and sequence live in a
+ * single {@link AtomicLong} updated with CAS. When more than 4096 IDs are needed in one
+ * millisecond, or the clock moves backwards, the generator keeps counting on the last
+ * timestamp (borrowing from the next millisecond) instead of spinning.
+ */
+public class SnowflakeCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    static final long EPOCH = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeCorrelationIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeCorrelationIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        long id = nextId();
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (id & 0xF)];
+            id >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH;
+        while (true) {
+            long previous = last.get();
+            long next = (previous >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.self.AOP.practice.filter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * ULID-style ID: 48 bits of epoch milliseconds followed by 80 random bits,
+ * written as 26 Crockford base32 characters, e.g. "01HF8Z4Q6V3J9K2M7N5P8R1T4W".
+ *
+ * IDs sort lexicographically by creation time to the millisecond, which keeps log
+ * searches by correlation ID roughly chronological. Within one millisecond the order
+ * is random; no shared state is touched.
+ */
+public class UlidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final LongSupplier clock;
+
+    public UlidCorrelationIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    UlidCorrelationIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[26];
+
+        long time = clock.getAsLong();
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (time & 31)];
+            time >>>= 5;
+        }
+
+        // 80 random bits: 60 from the low word, then 4 leftover bits plus 16 from the high word
+        long low = random.nextLong();
+        for (int i = 25; i >= 14; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low >>>= 5;
+        }
+        long high = ((random.nextLong() & 0xFFFF) << 4) | low;
+        for (int i = 13; i >= 10; i--) {
+            chars[i] = ALPHABET[(int) (high & 31)];
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,38 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds every {@link RingBufferAsyncAppender} attached to a Logback logger
+ * and reports its queue depth and drop counters.
+ */
+@Component
+public class AsyncAppenderMetrics {
+
+    public Map<String, AsyncAppenderStats> snapshot() {
+        Map<String, AsyncAppenderStats> stats = new TreeMap<>();
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return stats;
+        }
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof RingBufferAsyncAppender asyncAppender) {
+                    stats.putIfAbsent(asyncAppender.getName(), AsyncAppenderStats.of(asyncAppender));
+                }
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,13 @@
+package com.self.AOP.practice.logging;
+
+/**
+ * Point-in-time counters of one {@link RingBufferAsyncAppender}.
+ */
+public record AsyncAppenderStats(String overflowPolicy, int capacity, int queueDepth,
+                                 long dropped, long blockedWaits) {
+
+    static AsyncAppenderStats of(RingBufferAsyncAppender appender) {
+        return new AsyncAppenderStats(appender.getOverflowPolicy().name(), appender.getCapacity(),
+                appender.getQueueDepth(), appender.getDroppedCount(), appender.getBlockedWaitCount());
+    }
+}
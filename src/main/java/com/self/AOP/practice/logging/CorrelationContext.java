@@ -0,0 +1,109 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the correlation ID of the request the current thread works for, in one thread-local
+ * field instead of the MDC. Binding and unbinding are a thread-local write each; the MDC map
+ * is neither copied nor serialized for it.
+ *
+ * Code that reads %X{correlationId} still sees the ID when CorrelationIdFilter also copies it to
+ * the MDC ('correlation.id.mdc-compatible=true'). Readers here fall back to the MDC when
+ * nothing is bound, so an ID put there by other code is picked up as well.
+ */
+public final class CorrelationContext {
+
+    public static final String MDC_KEY = "correlationId";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CorrelationContext() {
+    }
+
+    /**
+     * The correlation ID of the current thread, or null.
+     */
+    public static String get() {
+        String correlationId = CURRENT.get();
+        return correlationId != null ? correlationId : MDC.get(MDC_KEY);
+    }
+
+    /**
+     * Binds the ID to the current thread, or unbinds with null, and returns the ID bound before
+     * so that it can be restored. Does not touch the MDC.
+     */
+    public static String bind(String correlationId) {
+        String previous = CURRENT.get();
+        if (correlationId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(correlationId);
+        }
+        return previous;
+    }
+
+    /**
+     * The correlation ID of a log event: the event's own MDC value, else the ID bound to the thread
+     * encoding it. That is the logging thread itself, or the async appender's worker, which binds
+     * each event's ID while the event is being appended.
+     */
+    public static String of(ILoggingEvent event, String mdcKey) {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String correlationId = mdc == null ? null : mdc.get(mdcKey);
+        return correlationId != null ? correlationId : get();
+    }
+
+    /**
+     * Captures the current thread's correlation ID and MDC, to run work for it on another thread.
+     */
+    public static Snapshot capture() {
+        return new Snapshot(CURRENT.get(), copyOfMdc());
+    }
+
+    /**
+     * Correlation ID and MDC of the thread that captured it.
+     */
+    public record Snapshot(String correlationId, Map<String, String> mdc) {
+
+        /**
+         * Runs the action with this context and restores the current thread's own afterwards.
+         */
+        public void run(Runnable action) {
+            String previousId = bind(correlationId);
+            Map<String, String> previousMdc = copyOfMdc();
+            setMdc(mdc);
+            try {
+                action.run();
+            } finally {
+                bind(previousId);
+                setMdc(previousMdc);
+            }
+        }
+    }
+
+    /**
+     * A copy of the MDC, or null when it is empty; only a non-empty MDC is copied.
+     */
+    private static Map<String, String> copyOfMdc() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        if (adapter instanceof LogbackMDCAdapter logback) {
+            Map<String, String> map = logback.getPropertyMap();
+            return map == null || map.isEmpty() ? null : new HashMap<>(map);
+        }
+        return MDC.getCopyOfContextMap();
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
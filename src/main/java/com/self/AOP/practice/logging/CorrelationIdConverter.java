@@ -0,0 +1,20 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Pattern converter for the correlation ID of an event, read like {@link JsonLogEventEncoder}
+ * does: from the event's MDC, else from {@link CorrelationContext}. Unlike %X{correlationId} it
+ * works with 'correlation.id.mdc-compatible=false'. Prints nothing when there is no ID.
+ *
+ * Registered in logback-spring.xml as %correlationId.
+ */
+public class CorrelationIdConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        String correlationId = CorrelationContext.of(event, CorrelationContext.MDC_KEY);
+        return correlationId == null ? "" : correlationId;
+    }
+}
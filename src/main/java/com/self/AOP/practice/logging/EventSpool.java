@@ -0,0 +1,358 @@
+package com.self.AOP.practice.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Binary spool of method enter/exit/error events on a ring of memory-mapped segment files.
+ *
+ * Writers reserve space in the current segment with one atomic add, write the record's length,
+ * fill it with absolute puts and publish it by writing its tag word last with release semantics.
+ * A reader never sees a half-written record, and can skip one whose writer died before publishing it.
+ * When a segment is full the next one in the ring is truncated and mapped, overwriting the oldest
+ * events. Nothing is formatted and no system call is made per event: the kernel writes the dirty
+ * pages back, and they survive a crash of the JVM.
+ *
+ * Method and thread names are not repeated per event. Each segment carries a definition record
+ * for every method and thread the first time it appears in that segment, so every segment can be
+ * decoded on its own (see {@link SpoolDecoder}).
+ *
+ * Segment layout, little-endian: a {@value #HEADER_SIZE}-byte header (magic, version, sequence,
+ * wall clock and nanoTime at creation, capacity, host) followed by 8-byte aligned records, each
+ * starting with its int length and an int tag holding the record type. A zero length is space that
+ * was never written, at the end of the data or where a writer died before its first put; a zero tag
+ * a record that was reserved but never completed.
+ *
+ * If the next segment cannot be opened, the failure is logged once and events are dropped and
+ * counted (see {@link #getDroppedCount()}) until a retry, at most once per second and on the
+ * following segment of the ring, succeeds.
+ */
+public final class EventSpool implements Closeable {
+
+    static final int MAGIC = 0x4C4F5053; // "SPOL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 128;
+    static final String FILE_PREFIX = "segment-";
+    static final String FILE_SUFFIX = ".spool";
+
+    static final byte TYPE_EVENT = 1;
+    static final byte TYPE_METHOD = 2;
+    static final byte TYPE_THREAD = 3;
+
+    // Event record: length, tag (type, status, correlation ID length), method ID, nanoTime, duration, thread ID
+    static final int EVENT_HEADER = 40;
+    static final int MAX_CORRELATION_ID = 255;
+    static final int MAX_HOST = HEADER_SIZE - 38;
+
+    static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSpool.class);
+    private static final int MAX_METHODS = 1 << 16;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Event kinds, stored as their ordinal.
+     */
+    public enum Status {
+        ENTER, EXIT, ERROR
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int segmentCount;
+    private final byte[] host;
+    private final AtomicInteger nextMethodId = new AtomicInteger();
+    private final Map<Integer, String[]> methods = new ConcurrentHashMap<>();
+    private final ThreadLocal<Segment> threadDefinedIn = new ThreadLocal<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Segment current;
+    private volatile boolean closed;
+    // Rotation state after a failed open, written under the lock of this spool
+    private long nextSequence;
+    private volatile long retryAt;
+    private volatile boolean failing;
+
+    /**
+     * Opens the spool, continuing the ring after the highest sequence already in the directory.
+     */
+    public EventSpool(Path directory, int segmentSize, int segmentCount) throws IOException {
+        if (segmentSize < HEADER_SIZE + 1024) {
+            throw new IllegalArgumentException("segmentSize must be at least " + (HEADER_SIZE + 1024) + " bytes");
+        }
+        if (segmentCount < 2) {
+            throw new IllegalArgumentException("segmentCount must be at least 2, was " + segmentCount);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize & ~7;
+        this.segmentCount = segmentCount;
+        this.host = truncate(localHost().getBytes(StandardCharsets.UTF_8), MAX_HOST);
+        Files.createDirectories(directory);
+        this.current = openSegment(SpoolDecoder.lastSequence(directory) + 1);
+    }
+
+    /**
+     * Assigns the ID under which a method's events are written.
+     */
+    public int register(String className, String methodName, String shortSignature) {
+        int id = nextMethodId.getAndIncrement();
+        methods.put(id, new String[]{className, methodName, shortSignature});
+        return id;
+    }
+
+    /**
+     * Appends one event for the current thread. Never blocks on I/O; only the thread that fills
+     * a segment pays for opening the next one.
+     */
+    public void record(Status status, int methodId, long nanoTime, long durationNanos, String correlationId) {
+        int idLength = correlationId == null ? 0 : Math.min(correlationId.length(), MAX_CORRELATION_ID);
+        int size = align(EVENT_HEADER + idLength);
+        Segment segment = current;
+        while (!closed) {
+            if (defineMethod(segment, methodId) && defineThread(segment)) {
+                int offset = segment.reserve(size);
+                if (offset >= 0) {
+                    ByteBuffer buffer = segment.buffer;
+                    buffer.putInt(offset, size);
+                    buffer.putInt(offset + 8, methodId);
+                    buffer.putLong(offset + 16, nanoTime);
+                    buffer.putLong(offset + 24, durationNanos);
+                    buffer.putLong(offset + 32, Thread.currentThread().getId());
+                    for (int i = 0; i < idLength; i++) {
+                        char c = correlationId.charAt(i);
+                        buffer.put(offset + EVENT_HEADER + i, c < 0x80 ? (byte) c : (byte) '?');
+                    }
+                    publish(buffer, offset, TYPE_EVENT | status.ordinal() << 8 | idLength << 16);
+                    return;
+                }
+            }
+            segment = rotate(segment);
+            if (segment == null) {
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    private boolean defineMethod(Segment segment, int methodId) {
+        if (segment.isDefined(methodId)) {
+            return true;
+        }
+        String[] names = methods.getOrDefault(methodId, new String[]{"?", "?", "?"});
+        byte[][] encoded = new byte[3][];
+        // length, tag, method ID, three name lengths, then the names
+        int size = 18;
+        for (int i = 0; i < 3; i++) {
+            encoded[i] = truncate(names[i].getBytes(StandardCharsets.UTF_8), 0xFFFF);
+            size += encoded[i].length;
+        }
+        size = align(size);
+        int offset = segment.reserve(size);
+        if (offset < 0) {
+            return false;
+        }
+        ByteBuffer buffer = segment.buffer;
+        buffer.putInt(offset, size);
+        buffer.putInt(offset + 8, methodId);
+        int position = offset + 18;
+        for (int i = 0; i < 3; i++) {
+            buffer.putShort(offset + 12 + 2 * i, (short) encoded[i].length);
+            buffer.put(position, encoded[i]);
+            position += encoded[i].length;
+        }
+        publish(buffer, offset, TYPE_METHOD);
+        segment.markDefined(methodId);
+        return true;
+    }
+
+    private boolean defineThread(Segment segment) {
+        if (threadDefinedIn.get() == segment) {
+            return true;
+        }
+        Thread thread = Thread.currentThread();
+        byte[] name = truncate(thread.getName().getBytes(StandardCharsets.UTF_8), 0xFFFF);
+        int size = align(18 + name.length);
+        int offset = segment.reserve(size);
+        if (offset < 0) {
+            return false;
+        }
+        ByteBuffer buffer = segment.buffer;
+        buffer.putInt(offset, size);
+        buffer.putLong(offset + 8, thread.getId());
+        buffer.putShort(offset + 16, (short) name.length);
+        buffer.put(offset + 18, name);
+        publish(buffer, offset, TYPE_THREAD);
+        threadDefinedIn.set(segment);
+        return true;
+    }
+
+    private static void publish(ByteBuffer buffer, int offset, int tag) {
+        INT.setRelease(buffer, offset + 4, tag);
+    }
+
+    /**
+     * Replaces the full segment with the next one, or returns null while no segment can be opened.
+     */
+    private Segment rotate(Segment full) {
+        if (failing && current == full && System.nanoTime() - retryAt < 0) {
+            // Dropping until the next retry, without taking the lock for every event
+            return null;
+        }
+        return rotateLocked(full);
+    }
+
+    private synchronized Segment rotateLocked(Segment full) {
+        if (current != full || closed) {
+            return current;
+        }
+        long now = System.nanoTime();
+        if (failing && now - retryAt < 0) {
+            return null;
+        }
+        long sequence = failing ? nextSequence : full.sequence + 1;
+        try {
+            current = openSegment(sequence);
+        } catch (IOException e) {
+            // Keep the spool from taking the application down; the next retry tries the following segment
+            if (!failing) {
+                logger.error("Cannot open spool segment {} in {}; dropping events until a later segment opens",
+                        sequence, directory, e);
+                failing = true;
+            }
+            nextSequence = sequence + 1;
+            retryAt = now + RETRY_NANOS;
+            return null;
+        }
+        if (failing) {
+            logger.warn("Spool in {} resumed with segment {} after dropping {} events", directory, sequence, dropped.sum());
+            failing = false;
+        }
+        return current;
+    }
+
+    private Segment openSegment(long sequence) throws IOException {
+        Path file = directory.resolve(FILE_PREFIX + Math.floorMod(sequence, segmentCount) + FILE_SUFFIX);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Mapping past the end grows the (sparse, zero-filled) file to the full segment size
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        Instant now = Instant.now();
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, sequence);
+        buffer.putLong(16, ChronoUnit.NANOS.between(Instant.EPOCH, now));
+        buffer.putLong(24, System.nanoTime());
+        buffer.putInt(32, segmentSize);
+        buffer.putShort(36, (short) host.length);
+        buffer.put(38, host);
+        // The magic goes last: a header without it is ignored by the decoder
+        INT.setRelease(buffer, 0, MAGIC);
+        return new Segment(sequence, buffer, segmentSize);
+    }
+
+    /**
+     * Stops recording and forces the current segment to disk.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            current.buffer.force();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Events dropped because no segment could be opened.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static byte[] truncate(byte[] bytes, int maxLength) {
+        if (bytes.length <= maxLength) {
+            return bytes;
+        }
+        byte[] truncated = new byte[maxLength];
+        System.arraycopy(bytes, 0, truncated, 0, maxLength);
+        return truncated;
+    }
+
+    private static String localHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * One mapped segment and its write position.
+     */
+    private static final class Segment {
+
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final AtomicInteger position = new AtomicInteger(HEADER_SIZE);
+        private final AtomicLongArray definedMethods = new AtomicLongArray(MAX_METHODS / 64);
+
+        Segment(long sequence, MappedByteBuffer buffer, int capacity) {
+            this.sequence = sequence;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Returns the offset of size free bytes, or -1 when the segment is full.
+         */
+        int reserve(int size) {
+            if (position.get() > capacity - size) {
+                return -1;
+            }
+            int offset = position.getAndAdd(size);
+            return offset <= capacity - size ? offset : -1;
+        }
+
+        boolean isDefined(int methodId) {
+            // IDs beyond the bitmap are simply defined again for every event
+            return methodId < MAX_METHODS && (definedMethods.get(methodId >>> 6) & (1L << methodId)) != 0;
+        }
+
+        void markDefined(int methodId) {
+            if (methodId < MAX_METHODS) {
+                definedMethods.getAndUpdate(methodId >>> 6, word -> word | (1L << methodId));
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Writes the application's JSON log line directly into a reused, per-thread byte buffer.
+ *
+ * Produces exactly the bytes of the former {@code LoggingEventCompositeJsonEncoder} setup:
+ * <pre>
+ * {"host":"..","level":"%level","log":{"classname":"%logger:%line",
+ *  "message":"%replace(%replace('[X-CorrelationId:%X{correlationId}] %message'){'\\[X-CorrelationId:] ',''}){'null',''}%nopex",
+ *  "threadname":"%thread"},"process":"%method","time":"%d{pattern, zone}","timezone":"..","type":".."}
+ * </pre>
+ * followed by an optional {@code "stack_trace"} field and the line separator.
+ * The two regex replacements are done as plain scans over the message, the fixed field names
+ * are pre-encoded, and the timestamp is formatted once per second with only the milliseconds
+ * appended per event. %X{correlationId} is read from the event's MDC and, when the MDC does
+ * not have it, from {@link CorrelationContext}.
+ *
+ * Configured in logback-spring.xml, e.g.:
+ * <pre>
+ * &lt;encoder class="com.self.AOP.practice.logging.JsonLogEventEncoder"&gt;
+ *     &lt;host&gt;${HOSTNAME}&lt;/host&gt;
+ *     &lt;timestampPattern&gt;yyyy-MM-dd'T'HH:mm:ss.SSS'Z'&lt;/timestampPattern&gt;
+ *     &lt;timezone&gt;UTC&lt;/timezone&gt;
+ *     &lt;type&gt;audit&lt;/type&gt;
+ * &lt;/encoder&gt;
+ * </pre>
+ */
+public class JsonLogEventEncoder extends EncoderBase<ILoggingEvent> {
+
+    static final String CORRELATION_PREFIX = "[X-CorrelationId:";
+    static final String EMPTY_CORRELATION = "[X-CorrelationId:] ";
+    private static final String NULL = "null";
+    private static final String NOT_AVAILABLE = "?";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private String host = "";
+    private String timestampPattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    private String timezone = "UTC";
+    private String type = "log";
+    private String correlationIdKey = "correlationId";
+    private ThrowableHandlingConverter throwableConverter;
+
+    private byte[] head;
+    private byte[] afterTime;
+    private byte[] lineSeparator;
+    private TimestampCache timestamps;
+
+    private final ThreadLocal<JsonByteWriter> writers = ThreadLocal.withInitial(JsonByteWriter::new);
+
+    @Override
+    public void start() {
+        JsonByteWriter writer = new JsonByteWriter();
+        writer.writeAscii("{\"host\":\"");
+        writer.writeEscaped(host);
+        writer.writeAscii("\",\"level\":\"");
+        head = writer.toByteArray();
+
+        writer.reset();
+        writer.writeAscii("\",\"timezone\":\"");
+        writer.writeEscaped(timezone);
+        writer.writeAscii("\",\"type\":\"");
+        writer.writeEscaped(type);
+        writer.writeAscii("\"");
+        afterTime = writer.toByteArray();
+
+        lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+        timestamps = new TimestampCache(timestampPattern, ZoneId.of(timezone));
+        if (throwableConverter != null && !throwableConverter.isStarted()) {
+            throwableConverter.setContext(getContext());
+            throwableConverter.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (throwableConverter != null) {
+            throwableConverter.stop();
+        }
+        super.stop();
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        JsonByteWriter writer = writers.get();
+        writer.reset();
+
+        StackTraceElement[] callerData = event.getCallerData();
+        StackTraceElement caller = callerData != null && callerData.length > 0 ? callerData[0] : null;
+
+        writer.writeRaw(head);
+        writer.writeEscaped(event.getLevel().toString());
+        writer.writeAscii("\",\"log\":{\"classname\":\"");
+        writer.writeEscaped(event.getLoggerName());
+        writer.writeByte(':');
+        if (caller != null) {
+            writer.writeAscii(Integer.toString(caller.getLineNumber()));
+        } else {
+            writer.writeAscii(NOT_AVAILABLE);
+        }
+        writer.writeAscii("\",\"message\":\"");
+        writeMessage(writer, correlationId(event), event.getFormattedMessage());
+        writer.writeAscii("\",\"threadname\":\"");
+        writer.writeEscaped(event.getThreadName());
+        writer.writeAscii("\"},\"process\":\"");
+        writer.writeEscaped(caller != null ? caller.getMethodName() : NOT_AVAILABLE);
+        writer.writeAscii("\",\"time\":\"");
+        timestamps.write(event.getTimeStamp(), writer);
+        writer.writeRaw(afterTime);
+        if (throwableConverter != null && event.getThrowableProxy() != null) {
+            writer.writeAscii(",\"stack_trace\":\"");
+            writer.writeEscaped(throwableConverter.convert(event));
+            writer.writeByte('"');
+        }
+        writer.writeByte('}');
+        writer.writeRaw(lineSeparator);
+
+        byte[] encoded = writer.toByteArray();
+        if (writer.capacity() > MAX_RETAINED_BUFFER) {
+            writers.remove();
+        }
+        return encoded;
+    }
+
+    String correlationId(ILoggingEvent event) {
+        String value = CorrelationContext.of(event, correlationIdKey);
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Writes the message exactly as the old nested %replace pattern rendered it:
+     * the correlation prefix is dropped when the ID is empty, and every "null" is removed.
+     */
+    static void writeMessage(JsonByteWriter writer, String correlationId, String message) {
+        if (message == null) {
+            message = NULL;
+        }
+        if (message.contains(EMPTY_CORRELATION) || correlationId.contains(CORRELATION_PREFIX)) {
+            // Removals could join text across the prefix; fall back to the literal two-step replace
+            String composed = "'" + CORRELATION_PREFIX + correlationId + "] " + message + "'";
+            writer.writeEscaped(composed.replace(EMPTY_CORRELATION, "").replace(NULL, ""));
+            return;
+        }
+        writer.writeByte('\'');
+        if (!correlationId.isEmpty()) {
+            writer.writeAscii(CORRELATION_PREFIX);
+            writeWithoutNull(writer, correlationId);
+            writer.writeAscii("] ");
+        }
+        writeWithoutNull(writer, message);
+        writer.writeByte('\'');
+    }
+
+    private static void writeWithoutNull(JsonByteWriter writer, String value) {
+        int from = 0;
+        int match;
+        while ((match = value.indexOf(NULL, from)) >= 0) {
+            writer.writeEscaped(value, from, match);
+            from = match + NULL.length();
+        }
+        writer.writeEscaped(value, from, value.length());
+    }
+
+    // Configuration
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setTimestampPattern(String timestampPattern) {
+        this.timestampPattern = timestampPattern;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setCorrelationIdKey(String correlationIdKey) {
+        this.correlationIdKey = correlationIdKey;
+    }
+
+    public void setThrowableConverter(ThrowableHandlingConverter throwableConverter) {
+        this.throwableConverter = throwableConverter;
+    }
+
+    /**
+     * Formats timestamps by caching everything up to the seconds and appending the
+     * milliseconds per event. Falls back to per-millisecond caching when the pattern
+     * has no "SSS" outside of quotes.
+     */
+    static final class TimestampCache {
+
+        private final DateTimeFormatter prefixFormatter;
+        private final byte[] suffix;
+        private final DateTimeFormatter fullFormatter;
+        private volatile Entry last = new Entry(Long.MIN_VALUE, new byte[0]);
+
+        TimestampCache(String pattern, ZoneId zone) {
+            int millis = indexOfMillis(pattern);
+            if (millis >= 0) {
+                this.prefixFormatter = DateTimeFormatter.ofPattern(pattern.substring(0, millis)).withZone(zone);
+                String suffixPattern = pattern.substring(millis + 3);
+                this.suffix = suffixPattern.isEmpty() ? new byte[0]
+                        : DateTimeFormatter.ofPattern(suffixPattern).withZone(zone)
+                                .format(Instant.EPOCH).getBytes(StandardCharsets.UTF_8);
+                this.fullFormatter = null;
+            } else {
+                this.prefixFormatter = null;
+                this.suffix = null;
+                this.fullFormatter = DateTimeFormatter.ofPattern(pattern).withZone(zone);
+            }
+        }
+
+        void write(long timestamp, JsonByteWriter writer) {
+            if (fullFormatter != null) {
+                Entry entry = last;
+                if (entry.key != timestamp) {
+                    entry = new Entry(timestamp, escape(fullFormatter.format(Instant.ofEpochMilli(timestamp))));
+                    last = entry;
+                }
+                writer.writeRaw(entry.bytes);
+                return;
+            }
+            long second = Math.floorDiv(timestamp, 1000);
+            Entry entry = last;
+            if (entry.key != second) {
+                entry = new Entry(second, escape(prefixFormatter.format(Instant.ofEpochSecond(second))));
+                last = entry;
+            }
+            writer.writeRaw(entry.bytes);
+            int millis = (int) Math.floorMod(timestamp, 1000);
+            writer.writeByte('0' + millis / 100);
+            writer.writeByte('0' + millis / 10 % 10);
+            writer.writeByte('0' + millis % 10);
+            writer.writeRaw(suffix);
+        }
+
+        private static byte[] escape(String value) {
+            JsonByteWriter writer = new JsonByteWriter();
+            writer.writeEscaped(value);
+            return writer.toByteArray();
+        }
+
+        private static int indexOfMillis(String pattern) {
+            boolean quoted = false;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '\'') {
+                    quoted = !quoted;
+                } else if (!quoted && pattern.startsWith("SSS", i)) {
+                    boolean longer = pattern.startsWith("SSSS", i) || (i > 0 && pattern.charAt(i - 1) == 'S');
+                    return longer ? -1 : i;
+                }
+            }
+            return -1;
+        }
+
+        private record Entry(long key, byte[] bytes) {
+        }
+    }
+
+    /**
+     * Growable byte buffer with JSON string escaping compatible with Jackson's defaults:
+     * quotes, backslashes, control characters and surrogates are escaped, everything else is UTF-8.
+     */
+    static final class JsonByteWriter {
+
+        private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeRaw(byte[] raw) {
+            ensure(raw.length);
+            System.arraycopy(raw, 0, bytes, size, raw.length);
+            size += raw.length;
+        }
+
+        /**
+         * Writes a string known to be plain ASCII without characters that need escaping.
+         */
+        void writeAscii(String value) {
+            int length = value.length();
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                bytes[size++] = (byte) value.charAt(i);
+            }
+        }
+
+        void writeEscaped(String value) {
+            writeEscaped(value, 0, value.length());
+        }
+
+        void writeEscaped(String value, int from, int to) {
+            ensure(to - from);
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    ensure(1);
+                    bytes[size++] = (byte) c;
+                } else if (c < 0x80) {
+                    writeEscapedAscii(c);
+                } else if (c < 0x800) {
+                    ensure(2);
+                    bytes[size++] = (byte) (0xC0 | (c >> 6));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson escapes each surrogate char on its own rather than writing 4-byte UTF-8
+                    writeUnicodeEscape(c);
+                } else {
+                    ensure(3);
+                    bytes[size++] = (byte) (0xE0 | (c >> 12));
+                    bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void writeEscapedAscii(char c) {
+            char shortEscape = switch (c) {
+                case '"' -> '"';
+                case '\\' -> '\\';
+                case '\n' -> 'n';
+                case '\r' -> 'r';
+                case '\t' -> 't';
+                case '\b' -> 'b';
+                case '\f' -> 'f';
+                default -> 0;
+            };
+            if (shortEscape == 0) {
+                writeUnicodeEscape(c);
+                return;
+            }
+            ensure(2);
+            bytes[size++] = '\\';
+            bytes[size++] = (byte) shortEscape;
+        }
+
+        private void writeUnicodeEscape(char c) {
+            ensure(6);
+            bytes[size++] = '\\';
+            bytes[size++] = 'u';
+            bytes[size++] = HEX[c >> 12];
+            bytes[size++] = HEX[(c >> 8) & 0xF];
+            bytes[size++] = HEX[(c >> 4) & 0xF];
+            bytes[size++] = HEX[c & 0xF];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
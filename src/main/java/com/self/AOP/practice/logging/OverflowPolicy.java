@@ -0,0 +1,16 @@
+package com.self.AOP.practice.logging;
+
+/**
+ * What {@link RingBufferAsyncAppender} does with a new event when its buffer is full.
+ */
+public enum OverflowPolicy {
+
+    /** Wait until the worker frees a slot. Nothing is ever dropped. */
+    BLOCK,
+
+    /** Drop the new event if it is DEBUG, INFO or TRACE; wait for WARN and ERROR. */
+    DROP_DEBUG_INFO,
+
+    /** Drop the oldest queued event to make room for the new one. */
+    DROP_OLDEST
+}
@@ -0,0 +1,120 @@
+package com.self.AOP.practice.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer/multi-consumer queue over a preallocated array.
+ *
+ * Each slot carries a sequence number that tells producers and consumers whether the
+ * slot is free or filled for their lap around the ring (Dmitry Vyukov's bounded queue).
+ * Offers and polls are a single CAS on the tail or head counter in the common case and
+ * never allocate. Capacity is rounded up to a power of two.
+ *
+ * Every element can carry a tag in a parallel slot, e.g. the correlation ID of a log event,
+ * so that the tag does not need a wrapper object per element.
+ */
+final class RingBuffer<E> {
+
+    private final Object[] elements;
+    private final String[] tags;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    RingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.elements = new Object[capacity];
+        this.tags = new String[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Adds the element, or returns false if the buffer is full.
+     */
+    boolean offer(E element) {
+        return offer(element, null);
+    }
+
+    /**
+     * Adds the element with a tag, or returns false if the buffer is full.
+     */
+    boolean offer(E element, String tag) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    tags[index] = tag;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the oldest element, or null if the buffer is empty.
+     */
+    E poll() {
+        return poll(null, 0);
+    }
+
+    /**
+     * Removes and returns the oldest element and stores its tag at tagsOut[tagIndex],
+     * or returns null if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll(String[] tagsOut, int tagIndex) {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[index];
+                    elements[index] = null;
+                    if (tagsOut != null) {
+                        tagsOut[tagIndex] = tags[index];
+                    }
+                    tags[index] = null;
+                    sequences.set(index, position + elements.length);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Approximate number of queued elements.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
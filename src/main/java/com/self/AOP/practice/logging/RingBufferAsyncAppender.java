@@ -0,0 +1,403 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender that hands events to a single worker thread through a
+ * preallocated {@link RingBuffer}.
+ *
+ * The calling thread only snapshots the event (MDC, formatted message and, if enabled,
+ * caller data) and enqueues it; encoding and console I/O happen on the worker, which
+ * drains events in batches and flushes attached output stream appenders once per batch.
+ * The caller's {@link CorrelationContext} ID travels in the event's ring slot, and the worker
+ * binds it while appending the event, so encoders read it as if on the calling thread.
+ * Attached appenders should therefore use {@code <immediateFlush>false</immediateFlush>}.
+ *
+ * When the buffer is full the configured {@link OverflowPolicy} decides whether the caller
+ * waits or an event is dropped. {@link #stop()} gives the worker, and with BLOCK the calls that
+ * were already appending, {@code maxFlushTime} milliseconds in total, then appends whatever they
+ * left in the buffer on the stopping thread, so with BLOCK no event is lost on a normal shutdown.
+ * If the worker is still stuck, e.g. on a blocked console, the events left in the buffer and
+ * those of callers still waiting for a slot are counted as dropped instead of hanging shutdown.
+ * With {@code async=false} events are passed straight through on the calling thread, which keeps
+ * log output deterministic in tests.
+ *
+ * Example:
+ * <pre>
+ * &lt;appender name="AsyncConsole" class="com.self.AOP.practice.logging.RingBufferAsyncAppender"&gt;
+ *     &lt;bufferSize&gt;8192&lt;/bufferSize&gt;
+ *     &lt;overflowPolicy&gt;DROP_DEBUG_INFO&lt;/overflowPolicy&gt;
+ *     &lt;appender-ref ref="Console"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blockedWaits = new LongAdder();
+
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private boolean includeCallerData = true;
+    private boolean async = true;
+    private int maxFlushTime = 1000;
+
+    // Calls inside doAppend with BLOCK, counted before the started check so stop() can wait for them
+    private final AtomicInteger appending = new AtomicInteger();
+    private final Object lateDrainLock = new Object();
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean workerParked;
+    // Set when stop() gave up on a stuck worker; callers still waiting for a slot then drop their event
+    private volatile boolean abandoned;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        if (async) {
+            buffer = new RingBuffer<>(bufferSize);
+            worker = new Thread(this::drainLoop, "log-ring-" + name);
+            worker.setDaemon(true);
+        }
+        super.start();
+        if (worker != null) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        if (worker != null) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushTime);
+            LockSupport.unpark(worker);
+            joinWorker(deadline);
+            // Calls already appending with BLOCK drain on their own thread once the worker has exited
+            while (!worker.isAlive() && appending.get() > 0 && deadline - System.nanoTime() > 0) {
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            }
+            if (worker.isAlive() || appending.get() > 0) {
+                abandoned = true;
+                int lost = buffer.size();
+                dropped.add(lost);
+                addWarn("[" + name + "] did not drain within " + maxFlushTime + " ms; " + lost
+                        + " buffered events lost");
+            } else {
+                drainLate();
+            }
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private void joinWorker(long deadline) {
+        boolean interrupted = false;
+        long remaining;
+        while (worker.isAlive() && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void doAppend(ILoggingEvent event) {
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            super.doAppend(event);
+            return;
+        }
+        appending.incrementAndGet();
+        try {
+            super.doAppend(event);
+        } finally {
+            appending.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!async) {
+            appenders.appendLoopOnAppenders(event);
+            flushAppenders();
+            return;
+        }
+        if (Thread.currentThread() == worker) {
+            // The worker logging from inside an appender; it flushes at the end of its batch
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        String correlationId = CorrelationContext.get();
+        if (!buffer.offer(event, correlationId)) {
+            handleOverflow(event, correlationId);
+        }
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+        if (!isStarted() && !worker.isAlive()) {
+            // Raced with stop(): the worker may have made its last pass before the offer
+            drainLate();
+        }
+    }
+
+    private void handleOverflow(ILoggingEvent event, String correlationId) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                do {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                } while (!buffer.offer(event, correlationId));
+            }
+            case DROP_DEBUG_INFO -> {
+                if (event.getLevel().toInt() <= Level.INFO_INT) {
+                    dropped.increment();
+                } else {
+                    waitForSlot(event, correlationId);
+                }
+            }
+            default -> waitForSlot(event, correlationId);
+        }
+    }
+
+    private void waitForSlot(ILoggingEvent event, String correlationId) {
+        blockedWaits.increment();
+        while (!buffer.offer(event, correlationId)) {
+            if (abandoned) {
+                dropped.increment();
+                return;
+            }
+            if (!isStarted() && !worker.isAlive()) {
+                drainLate();
+                continue;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+    }
+
+    private void drainLoop() {
+        ILoggingEvent[] batch = new ILoggingEvent[batchSize];
+        String[] correlationIds = new String[batchSize];
+        while (true) {
+            if (drainBatch(batch, correlationIds) > 0) {
+                CorrelationContext.bind(null);
+            } else if (!isStarted()) {
+                return;
+            } else {
+                workerParked = true;
+                if (buffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                workerParked = false;
+            }
+        }
+    }
+
+    /**
+     * Appends and flushes up to one batch of buffered events, binding each event's correlation ID,
+     * and returns how many there were. Only one thread at a time may drain.
+     */
+    private int drainBatch(ILoggingEvent[] batch, String[] correlationIds) {
+        int count = 0;
+        ILoggingEvent event;
+        while (count < batch.length && (event = buffer.poll(correlationIds, count)) != null) {
+            batch[count++] = event;
+        }
+        if (count > 0) {
+            for (int i = 0; i < count; i++) {
+                CorrelationContext.bind(correlationIds[i]);
+                appendSafely(batch[i]);
+                batch[i] = null;
+                correlationIds[i] = null;
+            }
+            flushAppenders();
+        }
+        return count;
+    }
+
+    /**
+     * Drains the buffer on the calling thread once the worker has exited, for events offered
+     * after its last pass. Restores the caller's correlation ID.
+     */
+    private void drainLate() {
+        synchronized (lateDrainLock) {
+            ILoggingEvent[] batch = new ILoggingEvent[batchSize];
+            String[] correlationIds = new String[batchSize];
+            String callerId = CorrelationContext.bind(null);
+            try {
+                int drained;
+                do {
+                    drained = drainBatch(batch, correlationIds);
+                } while (drained > 0);
+            } finally {
+                CorrelationContext.bind(callerId);
+            }
+        }
+    }
+
+    private void appendSafely(ILoggingEvent event) {
+        try {
+            appenders.appendLoopOnAppenders(event);
+        } catch (RuntimeException e) {
+            addError("Failed to append event in [" + name + "]", e);
+        }
+    }
+
+    private void flushAppenders() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            Appender<ILoggingEvent> appender = iterator.next();
+            if (appender instanceof OutputStreamAppender<ILoggingEvent> streamAppender
+                    && !streamAppender.isImmediateFlush() && streamAppender.getOutputStream() != null) {
+                try {
+                    streamAppender.getOutputStream().flush();
+                } catch (IOException e) {
+                    addError("Failed to flush [" + appender.getName() + "]", e);
+                }
+            }
+        }
+    }
+
+    // Metrics
+
+    public int getQueueDepth() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    public int getCapacity() {
+        return buffer == null ? 0 : buffer.capacity();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getBlockedWaitCount() {
+        return blockedWaits.sum();
+    }
+
+    // Configuration
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    // AppenderAttachable
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,254 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Offline decoder for {@link EventSpool} segments.
+ *
+ * Reads the segments of a spool directory oldest first and writes every event as a JSON log line
+ * through {@link JsonLogEventEncoder}, so the output has the same shape as the application's
+ * console log. Arguments and return values are not spooled, so the messages carry the method and
+ * the duration instead. Records whose writer never completed them are skipped, whether their tag or
+ * also their length is missing; the records after them are still decoded.
+ *
+ * Usage: {@code ./gradlew decodeSpool -PspoolDir=<directory>}, or run this class with the
+ * directory and optionally a time zone (default Asia/Kolkata, as in logback-spring.xml).
+ */
+public final class SpoolDecoder {
+
+    static final String LOGGER_NAME = "com.self.AOP.practice.aspects.LoggingAspect";
+    private static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    private static final String DEFAULT_TIMEZONE = "Asia/Kolkata";
+
+    private SpoolDecoder() {
+    }
+
+    /**
+     * One decoded event.
+     */
+    public record Event(Instant time, String host, EventSpool.Status status, String className, String methodName,
+                        String shortSignature, String threadName, String correlationId, long durationNanos) {
+
+        /**
+         * The event as the LoggingAspect logger would have emitted it.
+         */
+        public LoggingEvent toLoggingEvent() {
+            LoggingEvent event = new LoggingEvent();
+            event.setLoggerName(LOGGER_NAME);
+            event.setThreadName(threadName);
+            event.setInstant(time);
+            event.setCallerData(new StackTraceElement[0]);
+            event.setMDCPropertyMap(correlationId.isEmpty() ? Map.of() : Map.of("correlationId", correlationId));
+            switch (status) {
+                case ENTER -> {
+                    event.setLevel(Level.INFO);
+                    event.setMessage("Entering method: " + className + "." + methodName);
+                }
+                case EXIT -> {
+                    event.setLevel(Level.INFO);
+                    event.setMessage("Method " + methodName + " completed successfully in " + durationNanos + " ns");
+                }
+                case ERROR -> {
+                    event.setLevel(Level.ERROR);
+                    event.setMessage("Method " + shortSignature + " failed after " + durationNanos + " ns");
+                }
+            }
+            return event;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SpoolDecoder <spool directory> [time zone]");
+            System.exit(2);
+        }
+        String timezone = args.length > 1 ? args[1] : DEFAULT_TIMEZONE;
+        OutputStream out = new BufferedOutputStream(System.out, 1 << 16);
+        decode(Paths.get(args[0]), out, timezone);
+        out.flush();
+    }
+
+    /**
+     * Writes every event in the directory as a JSON log line, oldest segment first.
+     */
+    public static void decode(Path directory, OutputStream out, String timezone) throws IOException {
+        LoggerContext context = new LoggerContext();
+        Map<String, JsonLogEventEncoder> encoders = new HashMap<>();
+        for (Path segment : segments(directory)) {
+            for (Event event : read(segment)) {
+                JsonLogEventEncoder encoder = encoders.computeIfAbsent(event.host(), host -> {
+                    JsonLogEventEncoder created = new JsonLogEventEncoder();
+                    created.setContext(context);
+                    created.setHost(host);
+                    created.setTimestampPattern(TIMESTAMP_PATTERN);
+                    created.setTimezone(timezone);
+                    created.setType("log");
+                    created.start();
+                    return created;
+                });
+                out.write(encoder.encode(event.toLoggingEvent()));
+            }
+        }
+    }
+
+    /**
+     * The segment files of a spool directory, ordered by sequence.
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> segments = new ArrayList<>();
+        Map<Path, Long> sequences = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(EventSpool.FILE_PREFIX) && name.endsWith(EventSpool.FILE_SUFFIX)
+                        && Files.isRegularFile(file)) {
+                    long sequence = sequenceOf(file);
+                    if (sequence >= 0) {
+                        segments.add(file);
+                        sequences.put(file, sequence);
+                    }
+                }
+            }
+        }
+        segments.sort(Comparator.comparing(sequences::get));
+        return segments;
+    }
+
+    /**
+     * The highest segment sequence in the directory, or -1 when there is none.
+     */
+    static long lastSequence(Path directory) throws IOException {
+        List<Path> segments = segments(directory);
+        return segments.isEmpty() ? -1 : sequenceOf(segments.get(segments.size() - 1));
+    }
+
+    private static long sequenceOf(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < EventSpool.HEADER_SIZE) {
+                return -1;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventSpool.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != EventSpool.MAGIC || header.getInt(4) != EventSpool.VERSION) {
+                return -1;
+            }
+            return header.getLong(8);
+        }
+    }
+
+    /**
+     * Decodes one segment, ordered by event time. Returns nothing for a file without a valid header.
+     */
+    public static List<Event> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < EventSpool.HEADER_SIZE) {
+                return List.of();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != EventSpool.MAGIC || buffer.getInt(4) != EventSpool.VERSION) {
+                return List.of();
+            }
+            long baseEpochNanos = buffer.getLong(16);
+            long baseNanoTime = buffer.getLong(24);
+            int capacity = (int) Math.min(buffer.getInt(32), fileSize);
+            String host = string(buffer, 38, buffer.getShort(36) & 0xFFFF);
+
+            Map<Integer, String[]> methods = new HashMap<>();
+            Map<Long, String> threads = new HashMap<>();
+            List<RawEvent> raw = new ArrayList<>();
+            int offset = EventSpool.HEADER_SIZE;
+            while (offset <= capacity - 8) {
+                int length = buffer.getInt(offset);
+                if (length < 8 || (length & 7) != 0 || length > capacity - offset) {
+                    // Never written: the end of the data, or a record whose writer died before its
+                    // length word. Completed records may follow it, so scan on word by word
+                    offset += 8;
+                    continue;
+                }
+                int tag = buffer.getInt(offset + 4);
+                int type = tag & 0xFF;
+                if (type == EventSpool.TYPE_EVENT && ((tag >>> 8) & 0xFF) >= EventSpool.Status.values().length) {
+                    type = 0;
+                }
+                switch (type) {
+                    case EventSpool.TYPE_EVENT -> raw.add(new RawEvent(
+                            EventSpool.Status.values()[(tag >>> 8) & 0xFF],
+                            buffer.getInt(offset + 8),
+                            buffer.getLong(offset + 16),
+                            buffer.getLong(offset + 24),
+                            buffer.getLong(offset + 32),
+                            string(buffer, offset + EventSpool.EVENT_HEADER, (tag >>> 16) & 0xFF)));
+                    case EventSpool.TYPE_METHOD -> {
+                        String[] names = new String[3];
+                        int position = offset + 18;
+                        for (int i = 0; i < 3; i++) {
+                            int nameLength = buffer.getShort(offset + 12 + 2 * i) & 0xFFFF;
+                            names[i] = string(buffer, position, nameLength);
+                            position += nameLength;
+                        }
+                        methods.put(buffer.getInt(offset + 8), names);
+                    }
+                    case EventSpool.TYPE_THREAD -> threads.put(buffer.getLong(offset + 8),
+                            string(buffer, offset + 18, buffer.getShort(offset + 16) & 0xFFFF));
+                    default -> {
+                        // Reserved but never completed
+                    }
+                }
+                offset += length;
+            }
+
+            raw.sort(Comparator.comparingLong(RawEvent::nanoTime));
+            List<Event> events = new ArrayList<>(raw.size());
+            for (RawEvent event : raw) {
+                String[] names = methods.getOrDefault(event.methodId(),
+                        new String[]{"method-" + event.methodId(), "method-" + event.methodId(), "method-" + event.methodId()});
+                long epochNanos = baseEpochNanos + (event.nanoTime() - baseNanoTime);
+                events.add(new Event(
+                        Instant.ofEpochSecond(0, epochNanos),
+                        host,
+                        event.status(),
+                        names[0], names[1], names[2],
+                        threads.getOrDefault(event.threadId(), "thread-" + event.threadId()),
+                        event.correlationId(),
+                        event.durationNanos()));
+            }
+            return events;
+        }
+    }
+
+    private static String string(MappedByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record RawEvent(EventSpool.Status status, int methodId, long nanoTime, long durationNanos,
+                            long threadId, String correlationId) {
+    }
+}
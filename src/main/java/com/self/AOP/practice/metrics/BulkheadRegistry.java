@@ -0,0 +1,31 @@
+package com.self.AOP.practice.metrics;
+
+import com.self.AOP.practice.aspects.ConcurrencyLimiter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the limiter of every @Bulkhead, keyed by group name or, without one, by method key.
+ */
+@Component
+public class BulkheadRegistry {
+
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiter limiterFor(String name, Supplier<ConcurrencyLimiter> factory) {
+        return limiters.computeIfAbsent(name, key -> factory.get());
+    }
+
+    /**
+     * Counters of every bulkhead, sorted by name.
+     */
+    public Map<String, BulkheadSummary> snapshot() {
+        Map<String, BulkheadSummary> summaries = new TreeMap<>();
+        limiters.forEach((name, limiter) -> summaries.put(name, BulkheadSummary.from(limiter)));
+        return summaries;
+    }
+}
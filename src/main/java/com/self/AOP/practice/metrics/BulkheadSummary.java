@@ -0,0 +1,18 @@
+package com.self.AOP.practice.metrics;
+
+import com.self.AOP.practice.aspects.ConcurrencyLimiter;
+
+/**
+ * JSON view of one bulkhead's limit and counters. accepted and rejected are totals since startup.
+ */
+public record BulkheadSummary(int maxConcurrent, int inFlight, int queued, long accepted, long rejected) {
+
+    public static BulkheadSummary from(ConcurrencyLimiter limiter) {
+        return new BulkheadSummary(
+                limiter.getMaxConcurrent(),
+                limiter.getInFlight(),
+                limiter.getQueued(),
+                limiter.getAccepted(),
+                limiter.getRejected());
+    }
+}
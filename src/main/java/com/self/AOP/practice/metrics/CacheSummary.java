@@ -0,0 +1,24 @@
+package com.self.AOP.practice.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * JSON view of one method cache's statistics. Load times are in nanoseconds.
+ */
+public record CacheSummary(long size, long hits, long misses, double hitRate, long evictions,
+                           long evictionWeight, long loadFailures, double averageLoadPenalty) {
+
+    public static CacheSummary from(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheSummary(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty());
+    }
+}
@@ -0,0 +1,30 @@
+package com.self.AOP.practice.metrics;
+
+import com.self.AOP.practice.aspects.SingleFlight;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the in-flight calls of every @Coalesce method, keyed like {@link MethodLatencyRegistry}.
+ */
+@Component
+public class CoalescingRegistry {
+
+    private final Map<String, SingleFlight> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight flightFor(String methodKey) {
+        return flights.computeIfAbsent(methodKey, key -> new SingleFlight());
+    }
+
+    /**
+     * Counters of every coalescing method, sorted by method key.
+     */
+    public Map<String, CoalescingSummary> snapshot() {
+        Map<String, CoalescingSummary> summaries = new TreeMap<>();
+        flights.forEach((key, flight) -> summaries.put(key, CoalescingSummary.from(flight)));
+        return summaries;
+    }
+}
@@ -0,0 +1,15 @@
+package com.self.AOP.practice.metrics;
+
+import com.self.AOP.practice.aspects.SingleFlight;
+
+/**
+ * JSON view of one coalescing method: calls that ran the method, calls that joined another
+ * call, those of them that gave up waiting and ran it themselves, and keys currently in flight.
+ */
+public record CoalescingSummary(long executions, long coalesced, long timedOut, int inFlight) {
+
+    public static CoalescingSummary from(SingleFlight flight) {
+        return new CoalescingSummary(flight.getExecutions(), flight.getCoalesced(), flight.getTimedOut(),
+                flight.getInFlight());
+    }
+}
@@ -0,0 +1,12 @@
+package com.self.AOP.practice.metrics;
+
+import java.time.Instant;
+
+/**
+ * JSON view of one exception fingerprint: the exception type, the message and top frame of its
+ * first occurrence, the method it was first thrown from, how often it occurred, how many of those
+ * were logged without a stack trace, and when it was last seen.
+ */
+public record ExceptionSummary(String type, String message, String topFrame, String method, long count,
+                               long stackTracesOmitted, Instant lastSeen) {
+}
@@ -0,0 +1,118 @@
+package com.self.AOP.practice.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent, fixed-memory latency histogram with HDR-style log-linear buckets.
+ *
+ * Values are nanoseconds. Values below 64 get their own bucket; above that every power of two
+ * is split into 64 equal sub-buckets, so any recorded value is reported within ~1.6% of its
+ * true value. Values above ~73 minutes are clamped into the last bucket.
+ *
+ * Writers never lock: each thread is mapped onto one of a few stripes and only increments an
+ * {@link AtomicLongArray} slot in its own stripe, so concurrent recorders rarely touch the same
+ * cache line. Readers merge the stripes into a {@link LatencySnapshot}, optionally resetting
+ * them to start a new interval.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int MAX_STRIPES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a histogram with one stripe per expected concurrent writer (rounded down to a power
+     * of two, at most 8); use 1 for a histogram that is mostly recorded by a single thread.
+     */
+    public LatencyHistogram(int concurrency) {
+        int size = Math.min(Integer.highestOneBit(Math.max(concurrency, 1)), MAX_STRIPES);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    /**
+     * Records one observation. Negative values are treated as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_VALUE);
+        Stripe stripe = stripes[stripeIndex()];
+        stripe.counts.incrementAndGet(bucketIndex(value));
+        stripe.sum.addAndGet(value);
+        if (value > stripe.max.get()) {
+            stripe.max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Merges all stripes into an immutable snapshot.
+     *
+     * @param reset when true, the recorded values are cleared as they are read, so the next
+     *              snapshot only covers the interval since this one
+     */
+    public LatencySnapshot snapshot(boolean reset) {
+        long[] merged = new long[BUCKET_COUNT];
+        long sum = 0;
+        long max = 0;
+        for (Stripe stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] += reset ? stripe.counts.getAndSet(i, 0) : stripe.counts.get(i);
+            }
+            sum += reset ? stripe.sum.getAndSet(0) : stripe.sum.get();
+            max = Math.max(max, reset ? stripe.max.getAndSet(0) : stripe.max.get());
+        }
+        return new LatencySnapshot(merged, sum, max);
+    }
+
+    private int stripeIndex() {
+        if (stripeMask == 0) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowestValueInBucket(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKET_COUNT - 1);
+        if (group == 0) {
+            return subBucket;
+        }
+        return (SUB_BUCKET_COUNT + subBucket) << (group - 1);
+    }
+
+    static long highestValueInBucket(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        long width = group == 0 ? 1 : 1L << (group - 1);
+        return lowestValueInBucket(index) + width - 1;
+    }
+
+    private static final class Stripe {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+    }
+}
@@ -0,0 +1,55 @@
+package com.self.AOP.practice.metrics;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}. All values are in nanoseconds.
+ */
+public class LatencySnapshot {
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+    private final long max;
+
+    LatencySnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), i.e. the highest value that
+     * is equivalent to the bucket holding that rank, never exceeding the recorded max.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double fraction = Math.min(Math.max(percentile, 0), 100) / 100.0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueInBucket(i), max);
+            }
+        }
+        return max;
+    }
+}
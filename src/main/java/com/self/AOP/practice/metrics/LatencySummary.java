@@ -0,0 +1,18 @@
+package com.self.AOP.practice.metrics;
+
+/**
+ * JSON view of a {@link LatencySnapshot}. All latencies are in nanoseconds.
+ */
+public record LatencySummary(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+
+    public static LatencySummary from(LatencySnapshot snapshot) {
+        return new LatencySummary(
+                snapshot.getCount(),
+                snapshot.getMean(),
+                snapshot.getValueAtPercentile(50),
+                snapshot.getValueAtPercentile(90),
+                snapshot.getValueAtPercentile(99),
+                snapshot.getValueAtPercentile(99.9),
+                snapshot.getMax());
+    }
+}
@@ -0,0 +1,58 @@
+package com.self.AOP.practice.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the result cache of every @Cached method, keyed like {@link MethodLatencyRegistry}.
+ */
+@Component
+public class MethodCacheRegistry {
+
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    public Cache<Object, Object> cacheFor(String methodKey, Supplier<Cache<Object, Object>> factory) {
+        return caches.computeIfAbsent(methodKey, key -> factory.get());
+    }
+
+    /**
+     * Statistics of every cache, sorted by method key.
+     */
+    public Map<String, CacheSummary> snapshot() {
+        Map<String, CacheSummary> summaries = new TreeMap<>();
+        caches.forEach((key, cache) -> summaries.put(key, CacheSummary.from(cache)));
+        return summaries;
+    }
+
+    /**
+     * Drops all entries of one method's cache and returns how many there were; statistics are kept.
+     * Unknown method keys drop nothing.
+     */
+    public long invalidate(String methodKey) {
+        Cache<Object, Object> cache = caches.get(methodKey);
+        return cache == null ? 0 : invalidate(cache);
+    }
+
+    /**
+     * Drops all entries of all caches and returns how many there were; statistics are kept.
+     */
+    public long invalidateAll() {
+        long invalidated = 0;
+        for (Cache<Object, Object> cache : caches.values()) {
+            invalidated += invalidate(cache);
+        }
+        return invalidated;
+    }
+
+    private static long invalidate(Cache<Object, Object> cache) {
+        cache.cleanUp();
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        return size;
+    }
+}
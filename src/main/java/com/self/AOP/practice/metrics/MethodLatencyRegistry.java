@@ -0,0 +1,33 @@
+package com.self.AOP.practice.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link LatencyHistogram} per intercepted method.
+ * Histograms are created on first use and live for the lifetime of the application,
+ * so callers can keep the returned reference and record without further lookups.
+ */
+@Component
+public class MethodLatencyRegistry {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogramFor(String methodKey) {
+        return histograms.computeIfAbsent(methodKey, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Snapshots every histogram, sorted by method key.
+     *
+     * @param reset when true, each histogram starts a new interval after being read
+     */
+    public Map<String, LatencySnapshot> snapshot(boolean reset) {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((key, histogram) -> snapshots.put(key, histogram.snapshot(reset)));
+        return snapshots;
+    }
+}
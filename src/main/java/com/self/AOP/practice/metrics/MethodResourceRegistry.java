@@ -0,0 +1,32 @@
+package com.self.AOP.practice.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link ResourceUsage} per intercepted method, keyed like {@link MethodLatencyRegistry}.
+ * Only filled while 'logging.aspect.resource-usage' is on.
+ */
+@Component
+public class MethodResourceRegistry {
+
+    private final Map<String, ResourceUsage> usages = new ConcurrentHashMap<>();
+
+    public ResourceUsage usageFor(String methodKey) {
+        return usages.computeIfAbsent(methodKey, key -> new ResourceUsage());
+    }
+
+    /**
+     * Summarizes every method, sorted by method key.
+     *
+     * @param reset when true, each method starts a new interval after being read
+     */
+    public Map<String, ResourceUsageSummary> snapshot(boolean reset) {
+        Map<String, ResourceUsageSummary> summaries = new TreeMap<>();
+        usages.forEach((key, usage) -> summaries.put(key, usage.snapshot(reset)));
+        return summaries;
+    }
+}
@@ -0,0 +1,61 @@
+package com.self.AOP.practice.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CPU time and allocated bytes of one method's calls, summed and maxed without locks.
+ * Calls the JVM could not measure, e.g. CPU time on a virtual thread, are counted apart and
+ * left out of the totals and means. Updates made while a snapshot resets the counters may be
+ * split between two intervals.
+ */
+public final class ResourceUsage {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder unmeasuredCpu = new LongAdder();
+    private final LongAdder unmeasuredAllocations = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one call. A negative value means the JVM could not measure it.
+     */
+    public void record(long cpuNanos, long allocatedBytes) {
+        count.increment();
+        if (cpuNanos < 0) {
+            unmeasuredCpu.increment();
+        } else {
+            this.cpuNanos.add(cpuNanos);
+            maxCpuNanos.accumulate(cpuNanos);
+        }
+        if (allocatedBytes < 0) {
+            unmeasuredAllocations.increment();
+        } else {
+            this.allocatedBytes.add(allocatedBytes);
+            maxAllocatedBytes.accumulate(allocatedBytes);
+        }
+    }
+
+    /**
+     * Totals, means and maxima since the last reset; means are over the measured calls.
+     *
+     * @param reset when true, the counters start a new interval after being read
+     */
+    public ResourceUsageSummary snapshot(boolean reset) {
+        long calls = reset ? count.sumThenReset() : count.sum();
+        long cpuMissing = reset ? unmeasuredCpu.sumThenReset() : unmeasuredCpu.sum();
+        long allocationsMissing = reset ? unmeasuredAllocations.sumThenReset() : unmeasuredAllocations.sum();
+        long cpu = reset ? cpuNanos.sumThenReset() : cpuNanos.sum();
+        long allocated = reset ? allocatedBytes.sumThenReset() : allocatedBytes.sum();
+        long maxCpu = reset ? maxCpuNanos.getThenReset() : maxCpuNanos.get();
+        long maxAllocated = reset ? maxAllocatedBytes.getThenReset() : maxAllocatedBytes.get();
+        return new ResourceUsageSummary(calls, cpuMissing, cpu, mean(cpu, calls - cpuMissing), maxCpu,
+                allocationsMissing, allocated, mean(allocated, calls - allocationsMissing), maxAllocated);
+    }
+
+    private static double mean(long total, long measured) {
+        return measured <= 0 ? 0 : (double) total / measured;
+    }
+}
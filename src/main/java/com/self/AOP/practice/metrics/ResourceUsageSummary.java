@@ -0,0 +1,10 @@
+package com.self.AOP.practice.metrics;
+
+/**
+ * JSON view of a method's {@link ResourceUsage}. CPU times are in nanoseconds, allocations in bytes.
+ * The unmeasured counts are calls the JVM could not measure; totals and means leave them out.
+ */
+public record ResourceUsageSummary(long count, long unmeasuredCpuCount, long totalCpuNanos, double meanCpuNanos,
+                                   long maxCpuNanos, long unmeasuredAllocationCount, long totalAllocatedBytes,
+                                   double meanAllocatedBytes, long maxAllocatedBytes) {
+}
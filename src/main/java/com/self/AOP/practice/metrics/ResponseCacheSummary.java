@@ -0,0 +1,9 @@
+package com.self.AOP.practice.metrics;
+
+/**
+ * JSON view of one cached response path. ETag and size are null while nothing is cached for it.
+ * Hits are full responses served from the cache, notModified the 304s, and misses the requests
+ * that went through to the controller.
+ */
+public record ResponseCacheSummary(String etag, Integer bytes, long hits, long notModified, long misses) {
+}
@@ -0,0 +1,64 @@
+package com.self.AOP.practice.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the CPU time and the allocated bytes of the current thread from the JVM's ThreadMXBean.
+ * Allocation counting needs the com.sun.management extension (HotSpot and OpenJ9 have it).
+ * A counter the JVM does not support reads -1.
+ *
+ * CPU time has the resolution of the OS thread clock, typically 1 us or better on Linux.
+ */
+public final class ThreadResourceMeter {
+
+    private final ThreadMXBean threads;
+    private final com.sun.management.ThreadMXBean allocations;
+    private final boolean cpuTime;
+
+    private ThreadResourceMeter(ThreadMXBean threads) {
+        this.threads = threads;
+        boolean cpu = threads.isCurrentThreadCpuTimeSupported();
+        if (cpu && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        this.cpuTime = cpu;
+        com.sun.management.ThreadMXBean extension = null;
+        if (threads instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            if (!sun.isThreadAllocatedMemoryEnabled()) {
+                sun.setThreadAllocatedMemoryEnabled(true);
+            }
+            extension = sun;
+        }
+        this.allocations = extension;
+    }
+
+    /**
+     * Creates a meter on the platform ThreadMXBean, switching its CPU time and allocation counters on.
+     */
+    public static ThreadResourceMeter create() {
+        return new ThreadResourceMeter(ManagementFactory.getThreadMXBean());
+    }
+
+    public boolean isCpuTimeSupported() {
+        return cpuTime;
+    }
+
+    public boolean isAllocatedBytesSupported() {
+        return allocations != null;
+    }
+
+    /**
+     * CPU time of the current thread in nanoseconds, user and system, or -1.
+     */
+    public long cpuTime() {
+        return cpuTime ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Bytes allocated on the heap by the current thread since it started, or -1.
+     */
+    public long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
@@ -1,8 +1,24 @@
 package com.self.AOP.practice.service;
 
 import com.self.AOP.practice.aspects.BeforeLog;
+import com.self.AOP.practice.aspects.Cached;
+import com.self.AOP.practice.aspects.Coalesce;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service layer for handling business logic.
  * All methods are logged via AOP using @BeforeLog annotation.
@@ -10,12 +26,18 @@ import org.springframework.stereotype.Service;
 @Service
 public class SampleService {
 
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final byte[] PROCESSED_PREFIX = "Processed: ".getBytes(StandardCharsets.UTF_8);
+
     @BeforeLog
+    @Cached
     public String getData() {
         return "Sample Data from Service";
     }
 
     @BeforeLog
+    @Cached(maximumSize = 10_000, ttl = 10, ttlUnit = TimeUnit.MINUTES)
     public String greetUser(String name) {
         if (name == null || name.trim().isEmpty()) {
             return "Hello, Guest!";
@@ -23,9 +45,124 @@ public class SampleService {
         return String.format("Hello, %s! Welcome to AOP Practice.", name);
     }
 
+    /**
+     * Same as {@link #greetUser(String)}, but runs on the application task executor.
+     * The logging aspect runs on the executor thread, with the caller's correlation ID.
+     */
+    @Async
+    @BeforeLog
+    public CompletableFuture<String> greetUserAsync(String name) {
+        return CompletableFuture.completedFuture(greetUser(name));
+    }
+
     @BeforeLog
+    @Coalesce(key = "#input")
     public String processData(String input) {
         // Simulate some processing
         return "Processed: " + input.toUpperCase();
     }
+
+    /**
+     * Streaming variant of {@link #processData(String)} for inputs of any size. Reads UTF-8 from the
+     * input in fixed-size chunks, upper-cases it and writes each chunk to the output as it goes, so
+     * memory use is a few buffers of CHUNK_SIZE whatever the payload size. Characters split across
+     * chunks are carried over to the next one. Upper-casing is per code point, so unlike
+     * String.toUpperCase a character never expands (e.g. "ß" stays "ß"). Malformed input is replaced
+     * with U+FFFD.
+     *
+     * @return the number of input bytes processed
+     */
+    @BeforeLog(throughput = true)
+    public long processDataStream(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer in = ByteBuffer.allocate(CHUNK_SIZE);
+        CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+        ByteBuffer out = ByteBuffer.allocate((int) (CHUNK_SIZE * encoder.maxBytesPerChar()));
+        out.put(PROCESSED_PREFIX);
+
+        long processed = 0;
+        boolean endOfInput = false;
+        boolean last;
+        do {
+            if (!endOfInput) {
+                int read = input.read(in);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    processed += read;
+                }
+            }
+            in.flip();
+            // Bytes of a character cut off at the end of the chunk stay in the buffer for the next read
+            last = decoder.decode(in, chars, endOfInput).isUnderflow() && endOfInput;
+            in.compact();
+            chars.flip();
+            int limit = chars.limit();
+            int end = upperCase(chars, last);
+            // A high surrogate whose pair is still to be decoded is kept back
+            chars.limit(end);
+            encode(encoder, chars, out, output, last);
+            chars.limit(limit);
+            chars.compact();
+        } while (!last);
+        encoder.flush(out);
+        write(out, output);
+        return processed;
+    }
+
+    /**
+     * Upper-cases the remaining characters in place and returns the end of the complete ones.
+     */
+    private static int upperCase(CharBuffer chars, boolean last) {
+        int end = chars.limit();
+        int i = chars.position();
+        while (i < end) {
+            char c = chars.get(i);
+            if (Character.isHighSurrogate(c) && i + 1 < end) {
+                int upper = Character.toUpperCase(Character.toCodePoint(c, chars.get(i + 1)));
+                if (Character.charCount(upper) == 2) {
+                    chars.put(i, Character.highSurrogate(upper));
+                    chars.put(i + 1, Character.lowSurrogate(upper));
+                }
+                i += 2;
+            } else if (Character.isHighSurrogate(c) && !last) {
+                return i;
+            } else {
+                chars.put(i, Character.toUpperCase(c));
+                i++;
+            }
+        }
+        return end;
+    }
+
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer out,
+                               WritableByteChannel output, boolean last) throws IOException {
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, out, last);
+            write(out, output);
+        } while (result.isOverflow());
+    }
+
+    private static void write(ByteBuffer out, WritableByteChannel output) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            output.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Greets and processes in one call. Both inner calls are self-invocations: with Spring
+     * proxies only this method is logged, with compile-time weaving all three are.
+     */
+    @BeforeLog
+    public String processGreeting(String name) {
+        return processData(greetUser(name));
+    }
 }
@@ -0,0 +1,128 @@
+package com.self.AOP.practice.aspects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ArgumentRenderer.
+ * Verifies output caps, summaries for binary/stream arguments and redaction.
+ */
+class ArgumentRendererTest {
+
+    private ArgumentRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new ArgumentRenderer(20, 3);
+    }
+
+    @Test
+    void renderArguments_WithSimpleValues_ShouldMatchArraysToString() throws NoSuchMethodException {
+        // Arrange
+        MethodDescriptor descriptor = descriptor("plain", String.class, int.class);
+
+        // Act
+        String rendered = renderer.renderArguments(descriptor, new Object[]{"Rahul", 42});
+
+        // Assert
+        assertEquals("[Rahul, 42]", rendered);
+    }
+
+    @Test
+    void renderArguments_WithRedactedParameter_ShouldHideValue() throws NoSuchMethodException {
+        // Arrange
+        MethodDescriptor descriptor = descriptor("login", String.class, String.class);
+
+        // Act
+        String rendered = renderer.renderArguments(descriptor, new Object[]{"rahul", "s3cret"});
+
+        // Assert
+        assertEquals("[rahul, ***]", rendered);
+    }
+
+    @Test
+    void renderValue_WithLongString_ShouldTruncateAndReportLength() {
+        // Act
+        String rendered = renderer.renderValue("x".repeat(10_000));
+
+        // Assert
+        assertEquals("x".repeat(20) + "...(10000 chars)", rendered);
+    }
+
+    @Test
+    void renderValue_WithBinaryAndStreams_ShouldSummarize() {
+        // Act & Assert
+        assertEquals("byte[4096]", renderer.renderValue(new byte[4096]));
+        assertEquals("int[3]", renderer.renderValue(new int[3]));
+        assertEquals("<ByteArrayInputStream>", renderer.renderValue(new ByteArrayInputStream(new byte[8])));
+    }
+
+    @Test
+    void renderValue_WithLargeCollections_ShouldCapElementCount() {
+        // Act & Assert
+        assertEquals("[1, 2, 3, ...(2 more)]", renderer.renderValue(List.of(1, 2, 3, 4, 5)));
+        assertEquals("{a=1}", renderer.renderValue(Map.of("a", 1)));
+        assertEquals("[[[size=1]]]", renderer.renderValue(List.of(List.of(List.of(1)))));
+    }
+
+    @Test
+    void renderValue_WithOtherObjects_ShouldRenderTypeAndIdentityWithoutToString() {
+        // Arrange
+        AtomicInteger toStringCalls = new AtomicInteger();
+        Object bean = new Object() {
+            @Override
+            public String toString() {
+                toStringCalls.incrementAndGet();
+                return "x".repeat(1_000_000);
+            }
+        };
+
+        // Act
+        String rendered = renderer.renderValue(bean);
+
+        // Assert
+        assertEquals(bean.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(bean)), rendered);
+        assertEquals(0, toStringCalls.get());
+        assertEquals("2026-10-18", renderer.renderValue(LocalDate.of(2026, 10, 18)));
+    }
+
+    @Test
+    void renderValue_WithHttpEntities_ShouldSummarizeTheBody() {
+        // Act & Assert
+        assertEquals("<ResponseEntity 200 body=String(100000 chars)>",
+                renderer.renderValue(ResponseEntity.ok("x".repeat(100_000))));
+        assertEquals("<HttpEntity body=byte[4096]>", renderer.renderValue(new HttpEntity<>(new byte[4096])));
+        assertEquals("<ResponseEntity 404 body=null>", renderer.renderValue(ResponseEntity.notFound().build()));
+    }
+
+    @Test
+    void renderValue_WithNull_ShouldRenderNull() {
+        assertEquals("null", renderer.renderValue(null));
+    }
+
+    private static MethodDescriptor descriptor(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = Fixture.class.getDeclaredMethod(name, parameterTypes);
+        return MethodDescriptor.of(method, null, null, null);
+    }
+
+    @SuppressWarnings("unused")
+    static class Fixture {
+
+        void plain(String name, int count) {
+        }
+
+        void login(String user, @Redact String password) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for BatchScope and how LoggingAspect logs a @BeforeLog(batch = true) method.
+ */
+class BatchScopeTest {
+
+    private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+    private final Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private AppenderBase<ILoggingEvent> capture;
+
+    @BeforeEach
+    void setUp() {
+        capture = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                events.add(event);
+            }
+        };
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.detachAppender(capture);
+        capture.stop();
+    }
+
+    @Test
+    void open_Nested_ShouldRestoreTheOuterScopeOnClose() {
+        // Arrange
+        BatchScope outer = BatchScope.open();
+        BatchScope inner = BatchScope.open();
+
+        // Act
+        BatchScope duringInner = BatchScope.current();
+        inner.close();
+        BatchScope afterInner = BatchScope.current();
+        outer.close();
+
+        // Assert
+        assertSame(inner, duringInner);
+        assertSame(outer, afterInner);
+        assertNull(BatchScope.current());
+    }
+
+    @Test
+    void loggingAspect_BatchMethod_ShouldLogOneSummaryInsteadOfEveryItem() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        LoggingAspect aspect = aspect(registry);
+        Batch batch = proxy(new Batch(proxy(new Items(), aspect)), aspect);
+
+        // Act
+        int greeted = batch.greetAll(List.of("a", "b", "", "c"));
+
+        // Assert - the items are still timed; apart from the failure, only the batch itself is logged
+        assertEquals(3, greeted);
+        assertEquals(4, count(registry, "Items.greet(String)"));
+        assertTrue(events.stream()
+                .filter(event -> event.getLevel() != ch.qos.logback.classic.Level.ERROR)
+                .noneMatch(event -> event.getFormattedMessage().contains("greet")
+                        && !event.getFormattedMessage().contains("greetAll")), events.toString());
+        List<String> summaries = events.stream().map(ILoggingEvent::getFormattedMessage)
+                .filter(message -> message.startsWith("Batch ")).toList();
+        assertEquals(1, summaries.size(), events.toString());
+        assertTrue(summaries.get(0).contains("with 4 item calls: Items.greet(..): 4 calls, 1 failed"),
+                summaries.get(0));
+        assertNull(BatchScope.current());
+    }
+
+    @Test
+    void loggingAspect_BatchMethodThrows_ShouldStillCloseTheScope() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingAspect aspect = aspect(new MethodLatencyRegistry());
+        Batch batch = proxy(new Batch(proxy(new Items(), aspect)), aspect);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> batch.failAfter(List.of("a", "b")));
+
+        // Assert
+        assertNull(BatchScope.current());
+        assertTrue(events.stream().anyMatch(event -> event.getFormattedMessage()
+                .contains("with 2 item calls")), events.toString());
+    }
+
+    private static LoggingAspect aspect(MethodLatencyRegistry registry) {
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.setTimingLog(false);
+        return new LoggingAspectBuilder().properties(properties).latencyRegistry(registry).build();
+    }
+
+    private static <T> T proxy(T target, LoggingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static long count(MethodLatencyRegistry registry, String method) {
+        return registry.snapshot(false).entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith(method))
+                .mapToLong(entry -> entry.getValue().getCount())
+                .sum();
+    }
+
+    static class Items {
+
+        @BeforeLog
+        public String greet(String name) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("empty name");
+            }
+            return "Hello, " + name;
+        }
+    }
+
+    static class Batch {
+
+        private final Items items;
+
+        Batch(Items items) {
+            this.items = items;
+        }
+
+        // Needed for the class-based proxy
+        Batch() {
+            this(null);
+        }
+
+        @BeforeLog(batch = true)
+        public int greetAll(List<String> names) {
+            int greeted = 0;
+            for (String name : names) {
+                try {
+                    items.greet(name);
+                    greeted++;
+                } catch (IllegalArgumentException skipped) {
+                    // Counted as a failed item
+                }
+            }
+            return greeted;
+        }
+
+        @BeforeLog(batch = true)
+        public int failAfter(List<String> names) {
+            names.forEach(items::greet);
+            throw new IllegalStateException("batch failed");
+        }
+    }
+}
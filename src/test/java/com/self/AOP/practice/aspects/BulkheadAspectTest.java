@@ -0,0 +1,175 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.BulkheadRegistry;
+import com.self.AOP.practice.metrics.BulkheadSummary;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for BulkheadAspect, applied outside LoggingAspect in their defined order.
+ */
+class BulkheadAspectTest {
+
+    private final BulkheadRegistry bulkheadRegistry = new BulkheadRegistry();
+    private final MethodLatencyRegistry latencyRegistry = new MethodLatencyRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private GuardedService service;
+
+    @BeforeEach
+    void setUp() {
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        AspectJProxyFactory factory = new AspectJProxyFactory(new GuardedService(release));
+        // AspectJProxyFactory keeps registration order; in the container @Order decides
+        factory.addAspect(new BulkheadAspect(bulkheadRegistry));
+        factory.addAspect(new LoggingAspectBuilder().latencyRegistry(latencyRegistry).build());
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void guardedMethod_OverLimit_ShouldRejectWithoutReachingInnerAspects() throws Exception {
+        // Arrange
+        executor.submit(service::slow);
+        awaitInFlight(".slow()", 1);
+
+        // Act
+        BulkheadFullException rejection = assertThrows(BulkheadFullException.class, service::slow);
+
+        // Assert
+        assertTrue(rejection.getMessage().contains("GuardedService.slow()"), rejection.getMessage());
+        assertEquals(0, rejection.getStackTrace().length);
+        assertEquals(1, summary(".slow()").rejected());
+        // The admitted call is still running, so nothing may have been timed yet
+        assertTrue(latencyRegistry.snapshot(false).values().stream().allMatch(latency -> latency.getCount() == 0),
+                "rejected call must not be logged or timed");
+    }
+
+    @Test
+    void guardedMethod_AfterPermitReleased_ShouldAcceptAgain() throws Exception {
+        // Arrange
+        var first = executor.submit(service::slow);
+        awaitInFlight(".slow()", 1);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        // Act
+        String result = service.slow();
+
+        // Assert
+        assertEquals("slow", result);
+        assertEquals(0, summary(".slow()").inFlight());
+        assertEquals(2, summary(".slow()").accepted());
+    }
+
+    @Test
+    void groupedMethods_ShouldShareOnePermitPool() throws Exception {
+        // Arrange
+        executor.submit(service::groupA);
+        awaitInFlight("shared", 1);
+
+        // Act & Assert
+        assertThrows(BulkheadFullException.class, service::groupB);
+        assertEquals(1, summary("shared").rejected());
+    }
+
+    @Test
+    void futureMethod_ShouldHoldPermitUntilCompletion() {
+        // Arrange
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> returned = service.future(pending);
+
+        // Assert
+        assertEquals(1, summary(".future(").inFlight());
+        assertThrows(BulkheadFullException.class, () -> service.future(new CompletableFuture<>()));
+        pending.complete("done");
+        assertEquals("done", returned.join());
+        assertEquals(0, summary(".future(").inFlight());
+    }
+
+    @Test
+    void bulkheadFullException_ShouldMapTo503() {
+        // Act
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(BulkheadFullException.class,
+                ResponseStatus.class);
+
+        // Assert
+        assertNotNull(status);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, status.code());
+    }
+
+    private BulkheadSummary summary(String name) {
+        return bulkheadRegistry.snapshot().entrySet().stream()
+                .filter(entry -> entry.getKey().contains(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void awaitInFlight(String name, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (bulkheadRegistry.snapshot().entrySet().stream()
+                    .anyMatch(entry -> entry.getKey().contains(name) && entry.getValue().inFlight() == expected)) {
+                return;
+            }
+            Thread.sleep(1);
+        }
+        fail("bulkhead " + name + " never reached " + expected + " in flight");
+    }
+
+    static class GuardedService {
+
+        private final CountDownLatch release;
+
+        GuardedService(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @BeforeLog
+        @Bulkhead(maxConcurrent = 1)
+        public String slow() throws InterruptedException {
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        }
+
+        @Bulkhead(value = "shared", maxConcurrent = 1)
+        public String groupA() throws InterruptedException {
+            release.await(5, TimeUnit.SECONDS);
+            return "a";
+        }
+
+        @Bulkhead(value = "shared", maxConcurrent = 1)
+        public String groupB() {
+            return "b";
+        }
+
+        @Bulkhead(maxConcurrent = 1)
+        public CompletableFuture<String> future(CompletableFuture<String> pending) {
+            return pending;
+        }
+    }
+}
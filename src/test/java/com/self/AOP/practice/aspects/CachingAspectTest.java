@@ -0,0 +1,333 @@
+package com.self.AOP.practice.aspects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.self.AOP.practice.metrics.CacheSummary;
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for CachingAspect, applied together with LoggingAspect in their defined order.
+ */
+class CachingAspectTest {
+
+    private final MethodCacheRegistry cacheRegistry = new MethodCacheRegistry();
+    private final MethodLatencyRegistry latencyRegistry = new MethodLatencyRegistry();
+    private CountingService target;
+    private CountingService service;
+
+    @BeforeEach
+    void setUp() {
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        target = new CountingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        // AspectJProxyFactory keeps registration order; in the container @Order decides (see LoggingAspectTest)
+        factory.addAspect(new LoggingAspectBuilder().latencyRegistry(latencyRegistry).build());
+        factory.addAspect(new CachingAspect(cacheRegistry));
+        service = factory.getProxy();
+        target.self = service;
+    }
+
+    @Test
+    void cachedMethod_WithSameArguments_ShouldInvokeTargetOnce() {
+        // Act
+        String first = service.greet("Rahul");
+        String second = service.greet("Rahul");
+        service.greet("Alice");
+
+        // Assert
+        assertEquals("Hello, Rahul", first);
+        assertSame(first, second);
+        assertEquals(2, target.calls.get());
+        CacheSummary summary = stats("greet");
+        assertEquals(1, summary.hits());
+        assertEquals(2, summary.misses());
+        assertEquals(2, summary.size());
+    }
+
+    @Test
+    void cachedMethod_CacheHit_ShouldStillBeTimedByOuterLoggingAspect() {
+        // Act
+        service.greet("Rahul");
+        service.greet("Rahul");
+        service.greet("Rahul");
+
+        // Assert - logging runs outside the cache, so every call is recorded
+        assertEquals(1, target.calls.get());
+        assertEquals(3, latencyRegistry.snapshot(false).values().iterator().next().getCount());
+    }
+
+    @Test
+    void cachedMethod_WithMultipleArguments_ShouldKeyOnAllOfThem() {
+        // Act
+        service.join("a", 1);
+        service.join("a", 1);
+        service.join("a", 2);
+        service.join(null, 2);
+        service.join(null, 2);
+
+        // Assert
+        assertEquals(3, target.calls.get());
+    }
+
+    @Test
+    void cachedMethod_ReturningNull_ShouldCacheNull() {
+        // Act
+        assertNull(service.nothing());
+        assertNull(service.nothing());
+
+        // Assert
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void cachedMethod_WhenThrowing_ShouldNotCacheAndRethrowOriginal() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.fail("x"));
+        assertThrows(IllegalStateException.class, () -> service.fail("x"));
+        assertEquals(2, target.calls.get());
+        assertEquals(0, stats("fail").size());
+        assertEquals(2, stats("fail").loadFailures());
+    }
+
+    @Test
+    void cachedMethod_AfterTtl_ShouldRecompute() throws InterruptedException {
+        // Act
+        service.shortLived("k");
+        Thread.sleep(80);
+        service.shortLived("k");
+
+        // Assert
+        assertEquals(2, target.calls.get());
+    }
+
+    @Test
+    void cachedMethod_UnderScan_ShouldKeepFrequentlyUsedEntries() {
+        // Arrange - 50 hot keys in a cache of 100
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                service.bounded("hot-" + hot);
+            }
+        }
+
+        // Act - between two passes over the hot keys, 200 one-off keys arrive;
+        // plain LRU would have flushed every hot key by the next pass
+        int hotMisses = 0;
+        for (int round = 0; round < 25; round++) {
+            for (int i = 0; i < 200; i++) {
+                service.bounded("scan-" + round + "-" + i);
+            }
+            int before = target.calls.get();
+            for (int hot = 0; hot < 50; hot++) {
+                service.bounded("hot-" + hot);
+            }
+            hotMisses += target.calls.get() - before;
+        }
+        cache("bounded").cleanUp();
+
+        // Assert
+        assertTrue(hotMisses < 125, "hot key misses: " + hotMisses + " of 1250");
+        assertTrue(stats("bounded").evictions() > 0);
+        assertTrue(cache("bounded").estimatedSize() <= 100);
+    }
+
+    @Test
+    void cachedMethod_WithMaximumWeight_ShouldBoundTotalWeight() {
+        // Act
+        for (int i = 0; i < 200; i++) {
+            service.weighted("key-" + i);
+        }
+        cache("weighted").cleanUp();
+
+        // Assert
+        Cache<Object, Object> cache = cache("weighted");
+        long weight = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(weight <= 2_000, "weight " + weight);
+        assertTrue(stats("weighted").evictionWeight() > 0);
+    }
+
+    @Test
+    void cachedMethod_WhileAKeyLoads_ShouldServeOtherKeysAndShareTheLoad() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Future<String> slow = executor.submit(() -> service.slow("a"));
+            assertTrue(target.loading.await(5, TimeUnit.SECONDS));
+            Future<String> waiting = executor.submit(() -> service.slow("a"));
+
+            // Act - the load of "a" is still running
+            String other = executor.submit(() -> service.slow("b")).get(5, TimeUnit.SECONDS);
+            target.release.countDown();
+
+            // Assert
+            assertEquals("b", other);
+            assertEquals("a", slow.get(5, TimeUnit.SECONDS));
+            assertSame(slow.get(), waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(2, target.calls.get());
+            assertEquals(2, stats("slow").misses());
+            assertEquals(1, stats("slow").hits());
+        } finally {
+            target.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cachedMethod_WhileTheLoadHangs_ShouldRunTheMethodAfterMaxWait() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Future<String> hung = executor.submit(() -> service.hung("a"));
+            assertTrue(target.loading.await(5, TimeUnit.SECONDS));
+
+            // Act - the follower gives up on the hung load instead of waiting for it
+            long start = System.nanoTime();
+            String result = service.hung("a");
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Assert
+            assertEquals("a", result);
+            assertTrue(waitedMillis >= 50 && waitedMillis < 2_000, "waited " + waitedMillis + " ms");
+            assertEquals(2, target.calls.get());
+            assertFalse(hung.isDone());
+            target.release.countDown();
+            assertEquals("a", hung.get(5, TimeUnit.SECONDS));
+            assertEquals("a", service.hung("a"));
+            assertEquals(2, target.calls.get());
+            // The follower got no value from the cache, so only the last call is a hit
+            assertEquals(1, stats("hung").hits());
+            assertEquals(2, stats("hung").misses());
+        } finally {
+            target.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cachedMethod_CallingItselfWithTheSameKey_ShouldRunTheInnerCallDirectly() {
+        // Act
+        String result = service.reentrant("k");
+
+        // Assert - the outer result is the one cached
+        assertEquals("k!", result);
+        assertEquals("k!", service.reentrant("k"));
+        assertEquals(2, target.calls.get());
+    }
+
+    @Test
+    void keyOf_ShouldCompareArrayArgumentsByContent() {
+        // Act & Assert
+        assertEquals(CachingAspect.keyOf(new Object[]{new int[]{1, 2}}), CachingAspect.keyOf(new Object[]{new int[]{1, 2}}));
+        assertNotEquals(CachingAspect.keyOf(new Object[]{"a", "b"}), CachingAspect.keyOf(new Object[]{"a", "c"}));
+        assertEquals(CachingAspect.keyOf(new Object[0]), CachingAspect.keyOf(new Object[0]));
+    }
+
+    private CacheSummary stats(String method) {
+        return cacheRegistry.snapshot().entrySet().stream()
+                .filter(entry -> entry.getKey().contains("." + method + "("))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Cache<Object, Object> cache(String method) {
+        return cacheRegistry.snapshot().keySet().stream()
+                .filter(key -> key.contains("." + method + "("))
+                .map(key -> cacheRegistry.cacheFor(key, () -> {
+                    throw new AssertionError("cache should exist");
+                }))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static class CountingService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        CountingService self;
+
+        @BeforeLog
+        @Cached
+        public String greet(String name) {
+            calls.incrementAndGet();
+            return "Hello, " + name;
+        }
+
+        @Cached
+        public String join(String text, int number) {
+            calls.incrementAndGet();
+            return text + number;
+        }
+
+        @Cached
+        public String nothing() {
+            calls.incrementAndGet();
+            return null;
+        }
+
+        @Cached
+        public String fail(String input) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("failed for " + input);
+        }
+
+        @Cached(ttl = 30, ttlUnit = TimeUnit.MILLISECONDS)
+        public String shortLived(String input) {
+            calls.incrementAndGet();
+            return input;
+        }
+
+        @Cached(maximumSize = 100)
+        public String bounded(String input) {
+            calls.incrementAndGet();
+            return input;
+        }
+
+        @Cached
+        public String slow(String input) throws InterruptedException {
+            calls.incrementAndGet();
+            if (input.equals("a")) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return new String(input);
+        }
+
+        @Cached(maxWait = 50)
+        public String hung(String input) throws InterruptedException {
+            if (calls.incrementAndGet() == 1) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return input;
+        }
+
+        @Cached
+        public String reentrant(String input) {
+            if (calls.incrementAndGet() == 1) {
+                return self.reentrant(input) + "!";
+            }
+            return input;
+        }
+
+        @Cached(maximumWeight = 2_000)
+        public String weighted(String input) {
+            calls.incrementAndGet();
+            return input.repeat(10);
+        }
+    }
+}
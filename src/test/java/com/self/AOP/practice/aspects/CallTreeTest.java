@@ -0,0 +1,176 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for CallTree and the call tree mode of LoggingAspect.
+ */
+class CallTreeTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void exit_OfNestedCalls_ShouldSplitTotalAndSelfTime() {
+        // Arrange
+        CallTree.Node root = CallTree.enter("Controller.handle()", 0);
+        CallTree.Node child = CallTree.enter("Service.load(..)", 100);
+        CallTree.Node grandChild = CallTree.enter("Repository.find(..)", 150);
+
+        // Act
+        assertNull(CallTree.exit(grandChild, 250, null, false));
+        assertNull(CallTree.exit(child, 400, null, false));
+        CallTree.Node finished = CallTree.exit(root, 1000, null, false);
+
+        // Assert
+        assertSame(root, finished);
+        assertEquals(1000, root.getTotalNanos());
+        assertEquals(700, root.getSelfNanos());
+        assertEquals(300, child.getTotalNanos());
+        assertEquals(200, child.getSelfNanos());
+        assertEquals(100, grandChild.getSelfNanos());
+    }
+
+    @Test
+    void enter_RepeatedCallsUnderOneParent_ShouldBeMergedIntoOneNode() {
+        // Arrange
+        CallTree.Node root = CallTree.enter("Controller.list()", 0);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            CallTree.Node child = CallTree.enter("Service.item(..)", 10 + i * 100L);
+            CallTree.exit(child, 60 + i * 100L, null, false);
+        }
+        CallTree.exit(root, 400, null, false);
+
+        // Assert
+        assertEquals(1, root.getChildren().size());
+        CallTree.Node merged = root.getChildren().get(0);
+        assertEquals(3, merged.getCalls());
+        assertEquals(150, merged.getTotalNanos());
+        assertEquals(250, root.getSelfNanos());
+    }
+
+    @Test
+    void enter_BeyondMaxNodes_ShouldCountDroppedNodesButKeepTiming() {
+        // Arrange
+        CallTree.Node root = CallTree.enter("Batch.run()", 0);
+
+        // Act
+        for (int i = 0; i < CallTree.MAX_NODES + 10; i++) {
+            CallTree.Node child = CallTree.enter("Batch.step" + i + "()", i * 10L);
+            CallTree.exit(child, i * 10L + 5, null, false);
+        }
+        CallTree.exit(root, 10_000, null, false);
+
+        // Assert
+        assertEquals(CallTree.MAX_NODES - 1, root.getChildren().size());
+        assertEquals(10_000 - (CallTree.MAX_NODES + 10) * 5L, root.getSelfNanos());
+        assertTrue(root.toJson().endsWith(",\"droppedNodes\":11}"), root.toJson());
+    }
+
+    @Test
+    void toJson_ShouldCarryCorrelationIdErrorsAndAsyncFlags() {
+        // Arrange
+        MDC.put("correlationId", "cid-\"1\"");
+        CallTree.Node root = CallTree.enter("Controller.handle()", 0);
+        CallTree.Node failing = CallTree.enter("Service.fail()", 10);
+        CallTree.exit(failing, 20, new IllegalStateException("boom"), false);
+        CallTree.Node async = CallTree.enter("Service.later()", 30);
+        CallTree.exit(async, 35, null, true);
+
+        // Act
+        String json = CallTree.exit(root, 100, null, false).toJson();
+
+        // Assert
+        assertEquals("{\"correlationId\":\"cid-\\\"1\\\"\",\"root\":{\"method\":\"Controller.handle()\","
+                + "\"totalNanos\":100,\"selfNanos\":85,\"children\":["
+                + "{\"method\":\"Service.fail()\",\"totalNanos\":10,\"selfNanos\":10,\"error\":\"IllegalStateException\"},"
+                + "{\"method\":\"Service.later()\",\"totalNanos\":5,\"selfNanos\":5,\"async\":true}]}}", json);
+    }
+
+    @Test
+    void loggingAspect_InCallTreeMode_ShouldLogOneEventPerOutermostCall() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.setCallTree(true);
+        LoggingAspect aspect = new LoggingAspectBuilder().properties(properties).build();
+        Inner inner = proxy(new Inner(), aspect);
+        Outer outer = proxy(new Outer(inner), aspect);
+        List<String> lines = new CopyOnWriteArrayList<>();
+        Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                lines.add(event.getFormattedMessage());
+            }
+        };
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+        MDC.put("correlationId", "cid-tree");
+
+        // Act
+        try {
+            outer.handle();
+        } finally {
+            aspectLogger.detachAppender(capture);
+            capture.stop();
+        }
+
+        // Assert
+        assertEquals(1, lines.size(), lines.toString());
+        String event = lines.get(0);
+        assertTrue(event.startsWith("{\"correlationId\":\"cid-tree\",\"root\":{\"method\":\"Outer.handle()\""), event);
+        assertTrue(event.contains("{\"method\":\"Inner.work(..)\",\"calls\":2,"), event);
+    }
+
+    private static <T> T proxy(T target, LoggingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class Outer {
+
+        private final Inner inner;
+
+        Outer() {
+            this(null);
+        }
+
+        Outer(Inner inner) {
+            this.inner = inner;
+        }
+
+        @BeforeLog
+        public String handle() {
+            return inner.work(1) + inner.work(2);
+        }
+    }
+
+    static class Inner {
+
+        @BeforeLog
+        public String work(int step) {
+            return "step" + step;
+        }
+    }
+}
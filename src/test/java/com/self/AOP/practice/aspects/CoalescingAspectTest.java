@@ -0,0 +1,147 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.CoalescingRegistry;
+import com.self.AOP.practice.metrics.CoalescingSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for CoalescingAspect, covering key extraction and the counters it reports.
+ */
+class CoalescingAspectTest {
+
+    private final CoalescingRegistry coalescingRegistry = new CoalescingRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SlowService target;
+    private SlowService service;
+
+    @BeforeEach
+    void setUp() {
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        target = new SlowService(release);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new CoalescingAspect(coalescingRegistry));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalescedMethod_WithKeyExpression_ShouldShareCallsWithEqualKeys() throws Exception {
+        // Arrange - the request ID is not part of the key
+        Future<String> leader = executor.submit(() -> service.greet("Rahul", 1));
+        awaitInFlight(".greet(");
+        Future<String> follower = executor.submit(() -> service.greet("RAHUL", 2));
+        awaitCoalesced(".greet(", 1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertEquals("Hello, Rahul #1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("Hello, Rahul #1", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void coalescedMethod_WithoutKeyExpression_ShouldKeyOnAllArguments() throws Exception {
+        // Arrange
+        Future<String> first = executor.submit(() -> service.join("a", 1));
+        awaitInFlight(".join(");
+
+        // Act
+        Future<String> sameArguments = executor.submit(() -> service.join("a", 1));
+        awaitCoalesced(".join(", 1);
+        Future<String> otherArguments = executor.submit(() -> service.join("a", 2));
+        release.countDown();
+
+        // Assert
+        assertEquals("a1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("a1", sameArguments.get(5, TimeUnit.SECONDS));
+        assertEquals("a2", otherArguments.get(5, TimeUnit.SECONDS));
+        assertEquals(2, target.calls.get());
+        assertEquals(2, summary(".join(").executions());
+    }
+
+    @Test
+    void coalescedMethod_WithNullKey_ShouldStillCoalesce() throws Exception {
+        // Arrange
+        Future<String> leader = executor.submit(() -> service.greet(null, 1));
+        awaitInFlight(".greet(");
+        Future<String> follower = executor.submit(() -> service.greet(null, 2));
+        awaitCoalesced(".greet(", 1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertEquals(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, target.calls.get());
+    }
+
+    private CoalescingSummary summary(String method) {
+        return coalescingRegistry.snapshot().entrySet().stream()
+                .filter(entry -> entry.getKey().contains(method))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(new CoalescingSummary(0, 0, 0, 0));
+    }
+
+    private void awaitInFlight(String method) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (summary(method).inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, summary(method).inFlight());
+    }
+
+    private void awaitCoalesced(String method, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (summary(method).coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, summary(method).coalesced());
+    }
+
+    static class SlowService {
+
+        private final CountDownLatch release;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        SlowService(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Coalesce(key = "#p0 == null ? null : #name.toLowerCase()")
+        public String greet(String name, int requestId) throws InterruptedException {
+            release.await(5, TimeUnit.SECONDS);
+            calls.incrementAndGet();
+            return "Hello, " + name + " #" + requestId;
+        }
+
+        @Coalesce
+        public String join(String text, int number) throws InterruptedException {
+            release.await(5, TimeUnit.SECONDS);
+            calls.incrementAndGet();
+            return text + number;
+        }
+    }
+}
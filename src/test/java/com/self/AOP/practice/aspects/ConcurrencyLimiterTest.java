@@ -0,0 +1,148 @@
+package com.self.AOP.practice.aspects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConcurrencyLimiter.
+ */
+class ConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_UnderLimit_ShouldGrantPermits() throws InterruptedException {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 0, 0, TimeUnit.MILLISECONDS);
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(2, limiter.getAccepted());
+    }
+
+    @Test
+    void tryAcquire_AtLimitWithoutQueue_ShouldRejectImmediately() throws InterruptedException {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0, 10, TimeUnit.SECONDS);
+        limiter.tryAcquire();
+
+        // Act
+        long start = System.nanoTime();
+        boolean acquired = limiter.tryAcquire();
+
+        // Assert
+        assertFalse(acquired);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limiter.getRejected());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void tryAcquire_WhenQueuedAndPermitReleased_ShouldGetPermit() throws Exception {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 5, TimeUnit.SECONDS);
+        limiter.tryAcquire();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<Boolean> waiter = executor.submit(limiter::tryAcquire);
+            awaitQueued(limiter, 1);
+            limiter.release();
+
+            // Assert
+            assertTrue(waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(0, limiter.getQueued());
+            assertEquals(1, limiter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryAcquire_WhenQueueIsFull_ShouldRejectAndTimeOutQueuedCalls() throws Exception {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 200, TimeUnit.MILLISECONDS);
+        limiter.tryAcquire();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Boolean> waiter = executor.submit(limiter::tryAcquire);
+            awaitQueued(limiter, 1);
+
+            // Act
+            boolean overflow = limiter.tryAcquire();
+
+            // Assert
+            assertFalse(overflow);
+            assertFalse(waiter.get(5, TimeUnit.SECONDS), "queued call should time out");
+            assertEquals(2, limiter.getRejected());
+            assertEquals(0, limiter.getQueued());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryAcquire_UnderContention_ShouldNeverExceedLimit() throws Exception {
+        // Arrange
+        int threads = 16;
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 0, 0, TimeUnit.MILLISECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        int[] maxSeen = new int[1];
+
+        try {
+            // Act
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limiter.tryAcquire()) {
+                            synchronized (maxSeen) {
+                                maxSeen[0] = Math.max(maxSeen[0], limiter.getInFlight());
+                            }
+                            limiter.release();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // Assert
+            assertTrue(maxSeen[0] <= 4, "in flight: " + maxSeen[0]);
+            assertEquals(threads * 10_000L, limiter.getAccepted() + limiter.getRejected());
+            assertEquals(0, limiter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_WithoutPermits_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(0, 0, 0, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQueued(ConcurrencyLimiter limiter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, limiter.getQueued());
+    }
+}
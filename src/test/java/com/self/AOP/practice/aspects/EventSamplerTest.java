@@ -0,0 +1,97 @@
+package com.self.AOP.practice.aspects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventSampler.
+ * Verifies the events-per-second budget, fixed-rate sampling and suppression summaries.
+ */
+class EventSamplerTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void sample_WithBudget_ShouldAdmitOneSecondBurstThenRefill() {
+        // Arrange
+        long now = 1_000_000_000L;
+        EventSampler sampler = new EventSampler(1.0, 10, now);
+
+        // Act
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.sample(now)) {
+                admitted++;
+            }
+        }
+
+        // Assert
+        assertEquals(10, admitted);
+        assertFalse(sampler.sample(now + ONE_SECOND / 20));
+        assertTrue(sampler.sample(now + ONE_SECOND / 10));
+    }
+
+    @Test
+    void sample_WithZeroRate_ShouldSuppressEverything() {
+        // Arrange
+        EventSampler sampler = new EventSampler(0.0, 0, 0);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            assertFalse(sampler.sample(i));
+        }
+    }
+
+    @Test
+    void drainSuppressed_ShouldReportOncePerInterval() {
+        // Arrange
+        EventSampler sampler = new EventSampler(0.0, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            sampler.sample(i);
+        }
+
+        // Act & Assert
+        assertEquals(0, sampler.drainSuppressed(ONE_SECOND / 2), "summary not due yet");
+        assertEquals(5, sampler.drainSuppressed(ONE_SECOND));
+        assertEquals(0, sampler.drainSuppressed(ONE_SECOND + 1), "already reported this interval");
+    }
+
+    @Test
+    void drainPendingSuppressed_ShouldReportBeforeTheIntervalEnds() {
+        // Arrange
+        EventSampler sampler = new EventSampler(0.0, 0, 0);
+        for (int i = 0; i < 3; i++) {
+            sampler.sample(i);
+        }
+
+        // Act & Assert
+        assertEquals(3, sampler.drainPendingSuppressed());
+        assertEquals(0, sampler.drainSuppressed(ONE_SECOND), "already reported");
+    }
+
+    @Test
+    void forAnnotation_WithDefaults_ShouldReturnNull() throws NoSuchMethodException {
+        // Arrange
+        BeforeLog defaults = Fixture.class.getDeclaredMethod("unsampled").getAnnotation(BeforeLog.class);
+        BeforeLog sampled = Fixture.class.getDeclaredMethod("sampled").getAnnotation(BeforeLog.class);
+
+        // Act & Assert
+        assertNull(EventSampler.forAnnotation(defaults));
+        assertNotNull(EventSampler.forAnnotation(sampled));
+    }
+
+    @SuppressWarnings("unused")
+    static class Fixture {
+
+        @BeforeLog
+        void unsampled() {
+        }
+
+        @BeforeLog(sampleRate = 0.1, maxEventsPerSecond = 50)
+        void sampled() {
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.metrics.ExceptionSummary;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for ExceptionFingerprints and how LoggingAspect uses them.
+ */
+class ExceptionFingerprintsTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void fingerprint_SameTypeAndFrames_ShouldBeEqualWhateverTheMessageOrLine() {
+        // Arrange - created on different lines of the same method
+        Throwable first = new IllegalStateException("first");
+        Throwable second = new IllegalStateException("second");
+
+        // Act
+        String firstFingerprint = ExceptionFingerprints.fingerprint(first, 5);
+        String secondFingerprint = ExceptionFingerprints.fingerprint(second, 5);
+
+        // Assert
+        assertEquals(firstFingerprint, secondFingerprint);
+        assertEquals(16, firstFingerprint.length());
+    }
+
+    @Test
+    void fingerprint_DifferentTypeOrFrames_ShouldDiffer() {
+        // Arrange
+        Throwable here = new IllegalStateException("boom");
+        Throwable otherType = new IllegalArgumentException("boom");
+        Throwable elsewhere = thrownElsewhere();
+
+        // Act
+        String fingerprint = ExceptionFingerprints.fingerprint(here, 5);
+
+        // Assert
+        assertNotEquals(fingerprint, ExceptionFingerprints.fingerprint(otherType, 5));
+        assertNotEquals(fingerprint, ExceptionFingerprints.fingerprint(elsewhere, 5));
+    }
+
+    @Test
+    void record_ShouldLogOneStackTracePerFingerprintPerWindow() {
+        // Arrange
+        ExceptionFingerprints fingerprints = fingerprints(Duration.ofSeconds(60));
+        Throwable failure = new IllegalStateException("downstream unavailable");
+        long now = System.nanoTime();
+
+        // Act
+        ExceptionFingerprints.Occurrence first = fingerprints.record(failure, "Sample.call()", now);
+        ExceptionFingerprints.Occurrence second = fingerprints.record(failure, "Sample.call()", now + 1);
+        ExceptionFingerprints.Occurrence third = fingerprints.record(failure, "Sample.call()", now + 2);
+        ExceptionFingerprints.Occurrence nextWindow = fingerprints.record(failure, "Sample.call()", now + WINDOW);
+
+        // Assert
+        assertTrue(first.stackTrace());
+        assertEquals(0, first.suppressed());
+        assertFalse(second.stackTrace());
+        assertEquals(1, second.suppressed());
+        assertFalse(third.stackTrace());
+        assertEquals(2, third.suppressed());
+        assertTrue(nextWindow.stackTrace());
+        assertEquals(2, nextWindow.suppressed());
+        ExceptionSummary summary = fingerprints.snapshot().get(first.fingerprint());
+        assertEquals(4, summary.count());
+        assertEquals(2, summary.stackTracesOmitted());
+        assertEquals("downstream unavailable", summary.message());
+        assertEquals("Sample.call()", summary.method());
+    }
+
+    @Test
+    void record_WithZeroWindow_ShouldAlwaysLogTheStackTrace() {
+        // Arrange
+        ExceptionFingerprints fingerprints = fingerprints(Duration.ZERO);
+        Throwable failure = new IllegalStateException("boom");
+        long now = System.nanoTime();
+
+        // Act
+        ExceptionFingerprints.Occurrence first = fingerprints.record(failure, "Sample.call()", now);
+        ExceptionFingerprints.Occurrence second = fingerprints.record(failure, "Sample.call()", now);
+
+        // Assert
+        assertTrue(first.stackTrace());
+        assertTrue(second.stackTrace());
+    }
+
+    @Test
+    void snapshot_ShouldListTheMostFrequentFingerprintFirst() {
+        // Arrange
+        ExceptionFingerprints fingerprints = fingerprints(Duration.ofSeconds(60));
+        long now = System.nanoTime();
+        String rare = fingerprints.record(new IllegalArgumentException("rare"), "Sample.a()", now).fingerprint();
+        Throwable frequent = new IllegalStateException("frequent");
+        for (int i = 0; i < 3; i++) {
+            fingerprints.record(frequent, "Sample.b()", now);
+        }
+
+        // Act
+        Map<String, ExceptionSummary> snapshot = fingerprints.snapshot();
+
+        // Assert
+        assertEquals(2, snapshot.size());
+        assertEquals("java.lang.IllegalStateException", snapshot.values().iterator().next().type());
+        assertEquals(1, snapshot.get(rare).count());
+    }
+
+    @Test
+    void record_WhenFull_ShouldEvictTheLeastRecentlySeenFingerprint() {
+        // Arrange
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.getExceptions().setMaxFingerprints(2);
+        ExceptionFingerprints fingerprints = new ExceptionFingerprints(properties);
+        Throwable oldest = new IllegalArgumentException("oldest");
+        Throwable recent = new IllegalStateException("recent");
+        Throwable added = new UnsupportedOperationException("added");
+        long now = System.nanoTime();
+        fingerprints.record(oldest, "Sample.a()", now);
+        fingerprints.record(recent, "Sample.b()", now + 1);
+
+        // Act
+        ExceptionFingerprints.Occurrence first = fingerprints.record(added, "Sample.c()", now + 2);
+        ExceptionFingerprints.Occurrence repeated = fingerprints.record(added, "Sample.c()", now + 3);
+
+        // Assert - the new fingerprint is tracked, so its repeat omits the trace
+        assertTrue(first.stackTrace());
+        assertFalse(repeated.stackTrace());
+        Map<String, ExceptionSummary> snapshot = fingerprints.snapshot();
+        assertEquals(2, snapshot.size());
+        assertFalse(snapshot.containsKey(ExceptionFingerprints.fingerprint(oldest, 5)));
+        assertTrue(snapshot.containsKey(ExceptionFingerprints.fingerprint(recent, 5)));
+    }
+
+    @Test
+    void record_WhenFull_ShouldEvictEveryFingerprintIdleForAWindow() {
+        // Arrange
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.getExceptions().setWindow(Duration.ofSeconds(60));
+        properties.getExceptions().setMaxFingerprints(2);
+        ExceptionFingerprints fingerprints = new ExceptionFingerprints(properties);
+        long now = System.nanoTime();
+        fingerprints.record(new IllegalArgumentException("a"), "Sample.a()", now);
+        fingerprints.record(new IllegalStateException("b"), "Sample.b()", now + 1);
+
+        // Act
+        String added = fingerprints.record(new UnsupportedOperationException("c"), "Sample.c()", now + WINDOW + 1)
+                .fingerprint();
+
+        // Assert
+        assertEquals(List.of(added), List.copyOf(fingerprints.snapshot().keySet()));
+    }
+
+    @Test
+    void loggingAspect_RepeatedFailure_ShouldLogOneCompactLineWithoutStackTrace() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        ExceptionFingerprints fingerprints = new ExceptionFingerprints(properties);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Failing());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspectBuilder().properties(properties).exceptionFingerprints(fingerprints).build());
+        Failing failing = factory.getProxy();
+        List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                events.add(event);
+            }
+        };
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+
+        // Act
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThrows(IllegalStateException.class, failing::call);
+            }
+        } finally {
+            aspectLogger.detachAppender(capture);
+            capture.stop();
+        }
+
+        // Assert - one line per failure, only the first with the trace and its fingerprint
+        List<ILoggingEvent> errors = events.stream()
+                .filter(event -> event.getLevel() == ch.qos.logback.classic.Level.ERROR).toList();
+        assertEquals(3, errors.size(), errors.toString());
+        assertNotNull(errors.get(0).getThrowableProxy());
+        String first = errors.get(0).getFormattedMessage();
+        assertTrue(first.startsWith("Method call threw exception: downstream unavailable (Failing.call() failed after"),
+                first);
+        assertTrue(first.contains("fingerprint " + fingerprints.snapshot().keySet().iterator().next()), first);
+        assertNull(errors.get(1).getThrowableProxy());
+        assertNull(errors.get(2).getThrowableProxy());
+        assertTrue(errors.get(2).getFormattedMessage().endsWith("2 similar failures in this window, stack trace omitted)"),
+                errors.get(2).getFormattedMessage());
+        assertEquals(3, fingerprints.snapshot().values().iterator().next().count());
+    }
+
+    private static ExceptionFingerprints fingerprints(Duration window) {
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.getExceptions().setWindow(window);
+        return new ExceptionFingerprints(properties);
+    }
+
+    private static Throwable thrownElsewhere() {
+        return new IllegalStateException("boom");
+    }
+
+    static class Failing {
+
+        @BeforeLog
+        public void call() {
+            throw new IllegalStateException("downstream unavailable");
+        }
+    }
+}
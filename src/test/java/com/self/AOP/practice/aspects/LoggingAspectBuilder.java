@@ -0,0 +1,62 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.logging.EventSpool;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+
+/**
+ * Builds a LoggingAspect for tests that apply it through a proxy factory. Collaborators that are not
+ * set are created fresh, settings and fingerprints from the properties; there is no event spool.
+ */
+public final class LoggingAspectBuilder {
+
+    private LoggingAspectProperties properties = new LoggingAspectProperties();
+    private MethodLatencyRegistry latencyRegistry = new MethodLatencyRegistry();
+    private DeferredResultCompletionTracker deferredResults = new DeferredResultCompletionTracker();
+    private EventSpool eventSpool;
+    private LoggingSettingsStore settings;
+    private ExceptionFingerprints exceptionFingerprints;
+    private MethodResourceRegistry resourceRegistry = new MethodResourceRegistry();
+
+    public LoggingAspectBuilder properties(LoggingAspectProperties properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    public LoggingAspectBuilder latencyRegistry(MethodLatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+        return this;
+    }
+
+    public LoggingAspectBuilder deferredResults(DeferredResultCompletionTracker deferredResults) {
+        this.deferredResults = deferredResults;
+        return this;
+    }
+
+    public LoggingAspectBuilder eventSpool(EventSpool eventSpool) {
+        this.eventSpool = eventSpool;
+        return this;
+    }
+
+    public LoggingAspectBuilder settings(LoggingSettingsStore settings) {
+        this.settings = settings;
+        return this;
+    }
+
+    public LoggingAspectBuilder exceptionFingerprints(ExceptionFingerprints exceptionFingerprints) {
+        this.exceptionFingerprints = exceptionFingerprints;
+        return this;
+    }
+
+    public LoggingAspectBuilder resourceRegistry(MethodResourceRegistry resourceRegistry) {
+        this.resourceRegistry = resourceRegistry;
+        return this;
+    }
+
+    public LoggingAspect build() {
+        return new LoggingAspect(properties, latencyRegistry, deferredResults, eventSpool,
+                settings != null ? settings : new LoggingSettingsStore(properties),
+                exceptionFingerprints != null ? exceptionFingerprints : new ExceptionFingerprints(properties),
+                resourceRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import com.self.AOP.practice.metrics.ResourceUsageSummary;
+import com.self.AOP.practice.metrics.ThreadResourceMeter;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the CPU time and allocation mode of LoggingAspect ('logging.aspect.resource-usage').
+ */
+class LoggingAspectResourceUsageTest {
+
+    private static final int ALLOCATION = 256 * 1024;
+
+    @Test
+    void logInvocation_ResourceUsageOn_ShouldRecordTheMethodsAllocationsWithoutTheLogging() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        assumeTrue(ThreadResourceMeter.create().isAllocatedBytesSupported(), "JVM without thread allocation counters");
+        MethodResourceRegistry registry = new MethodResourceRegistry();
+        Allocating allocating = proxy(true, registry);
+        // The first call through the proxy links it, which allocates on some JVMs (Java 21)
+        allocating.allocate();
+        allocating.nothing("warm-up");
+        registry.snapshot(true);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            allocating.allocate();
+            allocating.nothing("argument rendered into the entry line");
+        }
+
+        // Assert
+        Map<String, ResourceUsageSummary> usage = registry.snapshot(false);
+        ResourceUsageSummary allocate = usage.get(key("allocate()"));
+        ResourceUsageSummary nothing = usage.get(key("nothing(String)"));
+        assertEquals(10, allocate.count());
+        assertTrue(allocate.meanAllocatedBytes() >= ALLOCATION, allocate.toString());
+        assertTrue(allocate.maxAllocatedBytes() < 2 * ALLOCATION, allocate.toString());
+        assertEquals(10, nothing.count());
+        assertTrue(nothing.maxAllocatedBytes() < 1024, nothing.toString());
+    }
+
+    @Test
+    void logInvocation_ResourceUsageOff_ShouldRecordNothing() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        MethodResourceRegistry registry = new MethodResourceRegistry();
+        Allocating allocating = proxy(false, registry);
+
+        // Act
+        allocating.allocate();
+
+        // Assert
+        assertTrue(registry.snapshot(false).isEmpty());
+    }
+
+    private static Allocating proxy(boolean resourceUsage, MethodResourceRegistry registry) {
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.setResourceUsage(resourceUsage);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Allocating());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspectBuilder().properties(properties).resourceRegistry(registry).build());
+        return factory.getProxy();
+    }
+
+    private static String key(String method) {
+        return Allocating.class.getName() + "." + method;
+    }
+
+    static class Allocating {
+
+        private Object sink;
+
+        @BeforeLog
+        public int allocate() {
+            byte[] bytes = new byte[ALLOCATION];
+            sink = bytes;
+            return bytes.length;
+        }
+
+        @BeforeLog
+        public int nothing(String argument) {
+            return argument.length();
+        }
+    }
+}
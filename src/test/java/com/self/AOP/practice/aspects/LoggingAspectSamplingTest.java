@@ -0,0 +1,80 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for the suppressed-call summaries of sampled @BeforeLog methods.
+ */
+class LoggingAspectSamplingTest {
+
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            lines.add(event.getFormattedMessage());
+        }
+    };
+
+    private Logger aspectLogger;
+    private LoggingAspect aspect;
+    private SampledService service;
+
+    @BeforeEach
+    void setUp() {
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        aspect = new LoggingAspectBuilder().build();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampledService());
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+
+        aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aspectLogger == null) {
+            return;
+        }
+        aspectLogger.detachAppender(capture);
+        capture.stop();
+    }
+
+    @Test
+    void shutdown_WithSuppressedCallsNotYetReported_ShouldLogTheirCount() {
+        // Arrange - all calls within the first second, so no summary is due yet
+        for (int i = 0; i < 5; i++) {
+            service.neverLogged();
+        }
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("Suppressed")), lines.toString());
+
+        // Act
+        aspect.shutdown();
+
+        // Assert
+        assertTrue(lines.contains("Suppressed 5 log events for SampledService.neverLogged() since the last summary"),
+                lines.toString());
+    }
+
+    static class SampledService {
+
+        @BeforeLog(sampleRate = 0.0)
+        public void neverLogged() {
+        }
+    }
+}
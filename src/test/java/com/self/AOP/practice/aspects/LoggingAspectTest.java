@@ -1,5 +1,7 @@
 package com.self.AOP.practice.aspects;
 
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
 import com.self.AOP.practice.service.SampleService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,10 @@ import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +28,12 @@ class LoggingAspectTest {
     @Autowired
     private SampleService sampleService;
 
+    @Autowired
+    private MethodLatencyRegistry latencyRegistry;
+
+    @Autowired
+    private MethodCacheRegistry cacheRegistry;
+
     @Test
     void loggingAspect_ShouldLogMethodEntry(CapturedOutput output) {
         // Act
@@ -68,6 +80,17 @@ class LoggingAspectTest {
         assertThat(logOutput).contains("ms");
     }
 
+    @Test
+    void loggingAspect_ThroughputMethod_ShouldLogBytesAndThroughput(CapturedOutput output) throws Exception {
+        // Act
+        sampleService.processDataStream(Channels.newChannel(new ByteArrayInputStream(new byte[1000])),
+                Channels.newChannel(new ByteArrayOutputStream()));
+
+        // Assert
+        assertThat(output.toString()).containsPattern("Method processDataStream completed successfully: "
+                + "1000 bytes in \\d+ ms \\([\\d.,]+ MB/s\\)");
+    }
+
     @Test
     void loggingAspect_ShouldInterceptAllAnnotatedMethods() {
         // Act
@@ -83,4 +106,32 @@ class LoggingAspectTest {
         assertTrue(greetUser.contains("Alice"));
         assertTrue(processData.contains("TEST"));
     }
+
+    @Test
+    void loggingAspect_ShouldLogExceptionAndFailureTime(CapturedOutput output) {
+        // Act
+        assertThrows(NullPointerException.class, () -> sampleService.processData(null));
+
+        // Assert
+        String logOutput = output.toString();
+        assertThat(logOutput).contains("Method processData threw exception");
+        assertThat(logOutput).contains("SampleService.processData(..) failed after");
+    }
+
+    @Test
+    void loggingAspect_ShouldRunOutsideCachingAspect() {
+        // Arrange
+        String key = "com.self.AOP.practice.service.SampleService.greetUser(String)";
+        long callsBefore = latencyRegistry.snapshot(false).containsKey(key)
+                ? latencyRegistry.snapshot(false).get(key).getCount() : 0;
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            sampleService.greetUser("OrderCheck");
+        }
+
+        // Assert - every call is timed by the logging aspect, but the method body ran at most once
+        assertEquals(callsBefore + 3, latencyRegistry.snapshot(false).get(key).getCount());
+        assertTrue(cacheRegistry.snapshot().get(key).hits() >= 2);
+    }
 }
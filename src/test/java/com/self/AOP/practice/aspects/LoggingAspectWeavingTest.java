@@ -0,0 +1,110 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.service.SampleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the two weaving modes of LoggingAspect.
+ * Run with ./gradlew test for proxy mode and ./gradlew test -Pweaving=ctw for compile-time weaving;
+ * each mode's tests are skipped in the other.
+ */
+@SpringBootTest
+class LoggingAspectWeavingTest {
+
+    @Autowired
+    private SampleService sampleService;
+
+    private final List<String> entered = new CopyOnWriteArrayList<>();
+    private final AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            String message = event.getFormattedMessage();
+            if (message.startsWith("Entering method: ")) {
+                entered.add(message.substring("Entering method: ".length(), message.indexOf(" with arguments")));
+            }
+        }
+    };
+
+    private Logger aspectLogger;
+
+    @BeforeEach
+    void setUp() {
+        aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.detachAppender(capture);
+        capture.stop();
+    }
+
+    /**
+     * Same check Spring uses to skip ajc-compiled aspects when building proxies.
+     */
+    static boolean isCompileTimeWoven() {
+        return Arrays.stream(LoggingAspect.class.getDeclaredFields())
+                .anyMatch(field -> field.getName().startsWith("ajc$"));
+    }
+
+    @Test
+    void compileTimeWeaving_SelfInvocation_ShouldBeIntercepted() {
+        assumeTrue(isCompileTimeWoven(), "compile-time weaving mode only");
+
+        // Act
+        String result = sampleService.processGreeting("Rahul");
+
+        // Assert
+        assertEquals("Processed: HELLO, RAHUL! WELCOME TO AOP PRACTICE.", result);
+        assertEquals(List.of(
+                "com.self.AOP.practice.service.SampleService.processGreeting",
+                "com.self.AOP.practice.service.SampleService.greetUser",
+                "com.self.AOP.practice.service.SampleService.processData"), entered);
+    }
+
+    @Test
+    void compileTimeWeaving_ShouldNotAddSpringAdvisorForAspect() {
+        assumeTrue(isCompileTimeWoven(), "compile-time weaving mode only");
+
+        // Assert - SampleService may still be proxied for @Async, but not for the logging aspect
+        assertFalse(hasLoggingAdvisor(sampleService));
+    }
+
+    @Test
+    void proxyMode_SelfInvocation_ShouldOnlyInterceptOuterCall() {
+        assumeFalse(isCompileTimeWoven(), "proxy mode only");
+
+        // Act
+        sampleService.processGreeting("Rahul");
+
+        // Assert
+        assertTrue(hasLoggingAdvisor(sampleService));
+        assertEquals(List.of("com.self.AOP.practice.service.SampleService.processGreeting"), entered);
+    }
+
+    private static boolean hasLoggingAdvisor(Object bean) {
+        return bean instanceof Advised advised && Arrays.stream(advised.getAdvisors())
+                .anyMatch(advisor -> advisor.getAdvice() instanceof AbstractAspectJAdvice advice
+                        && advice.getAspectName().equals("loggingAspect"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.self.AOP.practice.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.logging.LogLevel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for LoggingSettings and how LoggingAspect applies them at runtime.
+ */
+class LoggingSettingsTest {
+
+    private static final LoggingSettings.Target DEFAULTS = new LoggingSettings.Target(true, LogLevel.INFO, true);
+
+    private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+    private final Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private AppenderBase<ILoggingEvent> capture;
+
+    @AfterEach
+    void tearDown() {
+        if (capture != null) {
+            aspectLogger.detachAppender(capture);
+            capture.stop();
+        }
+    }
+
+    @Test
+    void resolve_ShouldPreferTheMostSpecificTarget() throws Exception {
+        // Arrange
+        LoggingSettings.Target off = DEFAULTS.with(null, LogLevel.OFF, null);
+        LoggingSettings.Target debug = DEFAULTS.with(null, LogLevel.DEBUG, null);
+        LoggingSettings settings = LoggingSettings.of(DEFAULTS, Map.of(
+                "Service", off,
+                "Service.hot", debug));
+
+        // Act
+        LoggingSettings.Target hot = settings.resolve(Service.class.getMethod("hot", String.class));
+        LoggingSettings.Target cold = settings.resolve(Service.class.getMethod("cold"));
+        LoggingSettings.Target other = settings.resolve(Object.class.getMethod("toString"));
+
+        // Assert
+        assertSame(debug, hot);
+        assertSame(off, cold);
+        assertSame(DEFAULTS, other);
+    }
+
+    @Test
+    void isAllDisabled_ShouldBeFalseWhileAnyTargetIsEnabled() {
+        // Arrange
+        LoggingSettings.Target disabled = DEFAULTS.with(false, null, null);
+
+        // Act
+        LoggingSettings allOff = LoggingSettings.of(disabled, Map.of());
+        LoggingSettings oneOn = allOff.withTarget("Service.hot", DEFAULTS);
+
+        // Assert
+        assertTrue(allOff.isAllDisabled());
+        assertFalse(oneOn.isAllDisabled());
+        assertTrue(oneOn.withoutTarget("Service.hot").isAllDisabled());
+    }
+
+    @Test
+    void loggingAspect_DisabledMethod_ShouldProceedWithoutLoggingOrTiming() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingSettingsStore store = new LoggingSettingsStore(new LoggingAspectProperties());
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Service service = proxy(store, registry);
+        startCapture();
+
+        // Act
+        store.update(settings -> settings.withTarget("Service.cold", DEFAULTS.with(false, null, null)));
+        service.cold();
+        service.hot("x");
+
+        // Assert
+        assertEquals(0, count(registry, "cold()"));
+        assertEquals(1, count(registry, "hot(String)"));
+        assertTrue(events.stream().noneMatch(event -> event.getFormattedMessage().contains("cold")), events.toString());
+    }
+
+    @Test
+    void loggingAspect_SettingsChangedAtRuntime_ShouldApplyToTheNextCall() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingSettingsStore store = new LoggingSettingsStore(new LoggingAspectProperties());
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Service service = proxy(store, registry);
+        service.hot("before");
+        startCapture();
+
+        // Act
+        store.update(settings -> settings.withDefaults(DEFAULTS.with(null, LogLevel.OFF, null)));
+        service.hot("quiet");
+        store.update(settings -> settings.withTarget("Service.hot",
+                DEFAULTS.with(null, LogLevel.WARN, false)));
+        service.hot("secret");
+
+        // Assert - OFF still times the call; the override logs at WARN without the argument
+        assertEquals(3, count(registry, "hot(String)"));
+        assertEquals(2, events.size(), events.toString());
+        assertEquals(ch.qos.logback.classic.Level.WARN, events.get(0).getLevel());
+        assertTrue(events.get(0).getFormattedMessage().endsWith("Service.hot"), events.get(0).getFormattedMessage());
+        assertEquals("Method hot completed successfully", events.get(1).getFormattedMessage());
+        assertTrue(events.stream().noneMatch(event -> event.getFormattedMessage().contains("secret")));
+    }
+
+    @Test
+    void loggingAspect_AllDisabled_ShouldOnlyProceed() {
+        // Arrange
+        assumeFalse(LoggingAspectWeavingTest.isCompileTimeWoven(), "proxy mode only");
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        LoggingAspectProperties.Target target = new LoggingAspectProperties.Target();
+        target.setEnabled(false);
+        properties.getTargets().put("Service", target);
+        LoggingSettingsStore store = new LoggingSettingsStore(properties);
+        store.update(settings -> settings.withDefaults(settings.getDefaults().with(false, null, null)));
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Service service = proxy(store, registry);
+
+        // Act
+        String result = service.hot("x");
+
+        // Assert
+        assertEquals("hot x", result);
+        assertTrue(registry.snapshot(false).isEmpty());
+    }
+
+    private Service proxy(LoggingSettingsStore store, MethodLatencyRegistry registry) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.setProxyTargetClass(true);
+        LoggingAspectProperties properties = new LoggingAspectProperties();
+        properties.setTimingLog(false);
+        factory.addAspect(new LoggingAspectBuilder().properties(properties).latencyRegistry(registry)
+                .settings(store).build());
+        return factory.getProxy();
+    }
+
+    private void startCapture() {
+        capture = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                events.add(event);
+            }
+        };
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+    }
+
+    private static long count(MethodLatencyRegistry registry, String method) {
+        return registry.snapshot(false).entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("Service." + method))
+                .mapToLong(entry -> entry.getValue().getCount())
+                .sum();
+    }
+
+    static class Service {
+
+        @BeforeLog
+        public String hot(String value) {
+            return "hot " + value;
+        }
+
+        @BeforeLog
+        public String cold() {
+            return "cold";
+        }
+    }
+}
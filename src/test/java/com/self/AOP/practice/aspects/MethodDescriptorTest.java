@@ -0,0 +1,44 @@
+package com.self.AOP.practice.aspects;
+
+import com.self.AOP.practice.service.SampleService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MethodDescriptor.
+ * Verifies the cached names match what the join point signature would produce.
+ */
+class MethodDescriptorTest {
+
+    @Test
+    void of_WithNoArgMethod_ShouldResolveNamesAndSignature() throws NoSuchMethodException {
+        // Arrange
+        Method method = SampleService.class.getMethod("getData");
+
+        // Act
+        MethodDescriptor descriptor = MethodDescriptor.of(method, null, null, null);
+
+        // Assert
+        assertEquals("com.self.AOP.practice.service.SampleService", descriptor.getClassName());
+        assertEquals("getData", descriptor.getMethodName());
+        assertEquals("SampleService.getData()", descriptor.getShortSignature());
+        assertEquals(0, descriptor.getParameterCount());
+    }
+
+    @Test
+    void of_WithParameters_ShouldResolveParameterNames() throws NoSuchMethodException {
+        // Arrange
+        Method method = SampleService.class.getMethod("greetUser", String.class);
+
+        // Act
+        MethodDescriptor descriptor = MethodDescriptor.of(method, null, null, null);
+
+        // Assert
+        assertEquals("SampleService.greetUser(..)", descriptor.getShortSignature());
+        assertEquals(1, descriptor.getParameterCount());
+        assertEquals("name", descriptor.getParameterName(0));
+    }
+}
@@ -0,0 +1,185 @@
+package com.self.AOP.practice.aspects;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+class SingleFlightTest {
+
+    private static final long MAX_WAIT = 5_000;
+
+    private final SingleFlight flight = new SingleFlight();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentCallsWithSameKey_ShouldRunOnceAndShareResult() throws Exception {
+        // Arrange
+        Future<Object> leader = executor.submit(call("alice", "result"));
+        awaitInFlight();
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            followers.add(executor.submit(call("alice", "other")));
+        }
+        awaitCoalesced(8);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        Object expected = leader.get(5, TimeUnit.SECONDS);
+        for (Future<Object> follower : followers) {
+            assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.getExecutions());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void execute_WhenLeaderFails_ShouldShareException() throws Exception {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("boom");
+        Future<Object> leader = executor.submit(asCallable(() -> flight.execute("bob", MAX_WAIT, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw failure;
+        })));
+        awaitInFlight();
+        Future<Object> follower = executor.submit(call("bob", "ignored"));
+        awaitCoalesced(1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderError.getCause());
+        assertSame(failure, followerError.getCause());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldNotRetainResult() throws Throwable {
+        // Arrange
+        release.countDown();
+
+        // Act
+        Object first = execute("carol", "first");
+        Object second = execute("carol", "second");
+
+        // Assert
+        assertEquals("first", first);
+        assertEquals("second", second);
+        assertEquals(2, runs.get());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    void execute_WithDifferentKeys_ShouldRunIndependently() throws Exception {
+        // Arrange
+        Future<Object> first = executor.submit(call("dave", "d"));
+        awaitInFlight();
+
+        // Act
+        Future<Object> second = executor.submit(call("erin", "e"));
+        release.countDown();
+
+        // Assert
+        assertEquals("d", first.get(5, TimeUnit.SECONDS));
+        assertEquals("e", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.getExecutions());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    void execute_ReentrantCallFromLeader_ShouldRunDirectly() throws Throwable {
+        // Act
+        Object result = flight.execute("frank", MAX_WAIT, () -> flight.execute("frank", MAX_WAIT, () -> "inner") + "+outer");
+
+        // Assert
+        assertEquals("inner+outer", result);
+    }
+
+    @Test
+    void execute_WhenLeaderHangs_ShouldRunTheCallAfterTheMaximumWait() throws Throwable {
+        // Arrange
+        Future<Object> leader = executor.submit(call("gina", "leader"));
+        awaitInFlight();
+
+        // Act
+        long start = System.nanoTime();
+        Object result = flight.execute("gina", 50, () -> "follower");
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert - the leader is still running, the follower did not wait for it
+        assertEquals("follower", result);
+        assertTrue(waitedMillis >= 50 && waitedMillis < 4_000, "waited " + waitedMillis + " ms");
+        assertFalse(leader.isDone());
+        assertEquals(1, flight.getCoalesced());
+        assertEquals(1, flight.getTimedOut());
+        assertEquals(2, flight.getExecutions());
+    }
+
+    private Callable<Object> call(String key, String value) {
+        return asCallable(() -> execute(key, value));
+    }
+
+    private static Callable<Object> asCallable(SingleFlight.Call call) {
+        return () -> {
+            try {
+                return call.run();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    private Object execute(String key, String value) throws Throwable {
+        return flight.execute(key, MAX_WAIT, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            runs.incrementAndGet();
+            return new String(value);
+        });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getInFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, flight.getInFlight());
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, flight.getCoalesced());
+    }
+}
@@ -0,0 +1,95 @@
+package com.self.AOP.practice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContextPropagatingTaskDecorator.
+ * Many submitters share a small pool, so any leaked or lost MDC shows up as a mismatch.
+ */
+class ContextPropagatingTaskDecoratorTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        MDC.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void decorate_WithThousandsOfTasks_ShouldNeitherLoseNorLeakCorrelationId() throws InterruptedException {
+        // Arrange
+        int submitters = 16;
+        int perSubmitter = 500;
+        List<String> mismatches = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(submitters * perSubmitter);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(submitters);
+
+        // Act
+        for (int s = 0; s < submitters; s++) {
+            int submitter = s;
+            requestThreads.execute(() -> {
+                for (int i = 0; i < perSubmitter; i++) {
+                    // Every other task is submitted without a context and must not inherit one
+                    String expected = i % 2 == 0 ? "cid-" + submitter + "-" + i : null;
+                    if (expected != null) {
+                        MDC.put("correlationId", expected);
+                    } else {
+                        MDC.remove("correlationId");
+                    }
+                    executor.execute(() -> {
+                        String actual = MDC.get("correlationId");
+                        if (expected == null ? actual != null : !expected.equals(actual)) {
+                            mismatches.add(expected + " != " + actual);
+                        }
+                        done.countDown();
+                    });
+                }
+                MDC.clear();
+            });
+        }
+
+        // Assert
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        requestThreads.shutdown();
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void decorate_ShouldRestoreWorkerContextAfterTask() {
+        // Arrange
+        MDC.put("correlationId", "submitter");
+        Runnable decorated = new ContextPropagatingTaskDecorator().decorate(
+                () -> assertEquals("submitter", MDC.get("correlationId")));
+        MDC.put("correlationId", "worker");
+
+        // Act
+        decorated.run();
+
+        // Assert
+        assertEquals("worker", MDC.get("correlationId"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.aspects.LoggingAspectProperties;
+import com.self.AOP.practice.aspects.LoggingSettingsStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for LoggingSettingsController.
+ */
+@WebMvcTest(LoggingSettingsController.class)
+@Import({LoggingSettingsStore.class, LoggingAspectProperties.class})
+class LoggingSettingsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoggingSettingsStore store;
+
+    @AfterEach
+    void tearDown() {
+        store.reset();
+    }
+
+    @Test
+    void settings_ShouldReturnDefaults() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/logging"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.defaults.enabled").value(true))
+                .andExpect(jsonPath("$.defaults.level").value("INFO"))
+                .andExpect(jsonPath("$.defaults.captureArguments").value(true));
+    }
+
+    @Test
+    void updateTarget_ShouldStartFromDefaultsAndKeepUnsetFields() throws Exception {
+        // Act
+        mockMvc.perform(put("/api/v1/admin/logging/targets/SampleService.processData")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"level\":\"DEBUG\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targets['SampleService.processData'].level").value("DEBUG"))
+                .andExpect(jsonPath("$.targets['SampleService.processData'].enabled").value(true));
+        mockMvc.perform(put("/api/v1/admin/logging/targets/SampleService.processData")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"captureArguments\":false}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        var target = store.get().getTargets().get("SampleService.processData");
+        assertEquals(LogLevel.DEBUG, target.level());
+        assertFalse(target.captureArguments());
+    }
+
+    @Test
+    void updateDefaults_ThenReset_ShouldRestoreConfiguredSettings() throws Exception {
+        // Arrange
+        mockMvc.perform(put("/api/v1/admin/logging/defaults")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.defaults.enabled").value(false));
+
+        // Act
+        mockMvc.perform(delete("/api/v1/admin/logging"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertTrue(store.get().getDefaults().enabled());
+    }
+
+    @Test
+    void removeTarget_ShouldDropTheOverride() throws Exception {
+        // Arrange
+        mockMvc.perform(put("/api/v1/admin/logging/targets/SampleService")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"level\":\"OFF\"}"));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/admin/logging/targets/SampleService"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targets").isEmpty());
+    }
+}
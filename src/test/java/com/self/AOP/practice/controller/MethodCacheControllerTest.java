@@ -0,0 +1,72 @@
+package com.self.AOP.practice.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for MethodCacheController.
+ */
+@WebMvcTest(MethodCacheController.class)
+@Import(MethodCacheRegistry.class)
+class MethodCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MethodCacheRegistry cacheRegistry;
+
+    @Test
+    void invalidate_WithMethod_ShouldDropOnlyThatMethodsResults() throws Exception {
+        // Arrange
+        Cache<Object, Object> greet = cache("Sample.greet(String)", "a", "b");
+        Cache<Object, Object> data = cache("Sample.data()", "c");
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/admin/cache").param("method", "Sample.greet(String)"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invalidated").value(2));
+        assertEquals(0, greet.estimatedSize());
+        assertEquals(1, data.estimatedSize());
+    }
+
+    @Test
+    void invalidate_WithoutMethod_ShouldDropEveryCachedResult() throws Exception {
+        // Arrange
+        Cache<Object, Object> greet = cache("Sample.greet(String)", "a", "b");
+        Cache<Object, Object> data = cache("Sample.data()", "c");
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/admin/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invalidated").value(3));
+        assertEquals(0, greet.estimatedSize());
+        assertEquals(0, data.estimatedSize());
+    }
+
+    @Test
+    void invalidate_WithUnknownMethod_ShouldDropNothing() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/admin/cache").param("method", "Sample.unknown()"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invalidated").value(0));
+    }
+
+    private Cache<Object, Object> cache(String methodKey, String... keys) {
+        Cache<Object, Object> cache = cacheRegistry.cacheFor(methodKey, () -> Caffeine.newBuilder().build());
+        for (String key : keys) {
+            cache.put(key, key);
+        }
+        return cache;
+    }
+}
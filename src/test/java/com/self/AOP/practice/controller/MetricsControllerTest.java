@@ -0,0 +1,168 @@
+package com.self.AOP.practice.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.self.AOP.practice.aspects.ConcurrencyLimiter;
+import com.self.AOP.practice.aspects.ExceptionFingerprints;
+import com.self.AOP.practice.aspects.LoggingAspectProperties;
+import com.self.AOP.practice.logging.AsyncAppenderMetrics;
+import com.self.AOP.practice.metrics.BulkheadRegistry;
+import com.self.AOP.practice.metrics.CoalescingRegistry;
+import com.self.AOP.practice.metrics.MethodCacheRegistry;
+import com.self.AOP.practice.metrics.MethodLatencyRegistry;
+import com.self.AOP.practice.metrics.MethodResourceRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for MetricsController.
+ */
+@WebMvcTest(MetricsController.class)
+@Import({MethodLatencyRegistry.class, MethodResourceRegistry.class, AsyncAppenderMetrics.class,
+        MethodCacheRegistry.class, BulkheadRegistry.class, CoalescingRegistry.class, ExceptionFingerprints.class,
+        LoggingAspectProperties.class})
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MethodLatencyRegistry latencyRegistry;
+
+    @Autowired
+    private MethodResourceRegistry resourceRegistry;
+
+    @Autowired
+    private MethodCacheRegistry cacheRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private CoalescingRegistry coalescingRegistry;
+
+    @Autowired
+    private ExceptionFingerprints exceptionFingerprints;
+
+    @Test
+    void latency_ShouldReturnPercentilesPerMethod() throws Exception {
+        // Arrange
+        latencyRegistry.histogramFor("Sample.method()").record(2_000);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['Sample.method()'].count").value(1))
+                .andExpect(jsonPath("$['Sample.method()'].max").value(2_000));
+    }
+
+    @Test
+    void latency_WithReset_ShouldClearHistograms() throws Exception {
+        // Arrange
+        latencyRegistry.histogramFor("Reset.method()").record(1_000);
+
+        // Act
+        mockMvc.perform(get("/api/v1/metrics/latency").param("reset", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['Reset.method()'].count").value(1));
+
+        // Assert
+        mockMvc.perform(get("/api/v1/metrics/latency"))
+                .andExpect(jsonPath("$['Reset.method()'].count").value(0));
+    }
+
+    @Test
+    void resources_ShouldReturnCpuAndAllocationsPerMethod() throws Exception {
+        // Arrange
+        resourceRegistry.usageFor("Sample.method()").record(4_000, 1_024);
+        resourceRegistry.usageFor("Sample.method()").record(2_000, 0);
+        resourceRegistry.usageFor("Sample.method()").record(-1, 0);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/resources"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['Sample.method()'].count").value(3))
+                .andExpect(jsonPath("$['Sample.method()'].unmeasuredCpuCount").value(1))
+                .andExpect(jsonPath("$['Sample.method()'].meanCpuNanos").value(3_000.0))
+                .andExpect(jsonPath("$['Sample.method()'].maxAllocatedBytes").value(1_024));
+    }
+
+    @Test
+    void cache_ShouldReturnStatisticsPerMethod() throws Exception {
+        // Arrange
+        Cache<Object, Object> cache = cacheRegistry.cacheFor("Sample.cached()",
+                () -> Caffeine.newBuilder().recordStats().build());
+        cache.get("key", key -> "value");
+        cache.get("key", key -> "value");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['Sample.cached()'].size").value(1))
+                .andExpect(jsonPath("$['Sample.cached()'].hits").value(1))
+                .andExpect(jsonPath("$['Sample.cached()'].misses").value(1));
+    }
+
+    @Test
+    void bulkhead_ShouldReturnCountersPerBulkhead() throws Exception {
+        // Arrange
+        ConcurrencyLimiter limiter = bulkheadRegistry.limiterFor("greeting",
+                () -> new ConcurrencyLimiter(1, 0, 0, TimeUnit.MILLISECONDS));
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/bulkhead"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.greeting.maxConcurrent").value(1))
+                .andExpect(jsonPath("$.greeting.inFlight").value(1))
+                .andExpect(jsonPath("$.greeting.accepted").value(1))
+                .andExpect(jsonPath("$.greeting.rejected").value(1));
+    }
+
+    @Test
+    void coalescing_ShouldReturnCountersPerMethod() throws Throwable {
+        // Arrange
+        coalescingRegistry.flightFor("Sample.coalesced()").execute("key", 1_000, () -> "value");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/coalescing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['Sample.coalesced()'].executions").value(1))
+                .andExpect(jsonPath("$['Sample.coalesced()'].coalesced").value(0))
+                .andExpect(jsonPath("$['Sample.coalesced()'].inFlight").value(0));
+    }
+
+    @Test
+    void exceptions_ShouldReturnCountersPerFingerprint() throws Exception {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("downstream unavailable");
+        String fingerprint = exceptionFingerprints.record(failure, "Sample.failing()", System.nanoTime()).fingerprint();
+        exceptionFingerprints.record(failure, "Sample.failing()", System.nanoTime());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/metrics/exceptions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + fingerprint + "'].type").value("java.lang.IllegalStateException"))
+                .andExpect(jsonPath("$['" + fingerprint + "'].method").value("Sample.failing()"))
+                .andExpect(jsonPath("$['" + fingerprint + "'].count").value(2))
+                .andExpect(jsonPath("$['" + fingerprint + "'].stackTracesOmitted").value(1));
+    }
+
+    @Test
+    void responseCache_ShouldReturnStatePerConfiguredPath() throws Exception {
+        // Act & Assert - nothing is requested through the cache in this test
+        mockMvc.perform(get("/api/v1/metrics/response-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['/api/v1/hello'].hits").value(0))
+                .andExpect(jsonPath("$['/api/v1/data'].etag").doesNotExist());
+    }
+}
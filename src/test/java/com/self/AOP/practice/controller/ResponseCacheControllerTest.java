@@ -0,0 +1,58 @@
+package com.self.AOP.practice.controller;
+
+import com.self.AOP.practice.service.SampleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for ResponseCacheController, together with the ResponseCacheFilter in front of SampleController.
+ */
+@WebMvcTest({ResponseCacheController.class, SampleController.class})
+class ResponseCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SampleService sampleService;
+
+    @Test
+    void invalidate_WithPath_ShouldMakeTheNextRequestReachTheController() throws Exception {
+        // Arrange
+        when(sampleService.getData()).thenReturn("Sample Data from Service");
+        mockMvc.perform(delete("/api/v1/admin/response-cache"));
+        mockMvc.perform(get("/api/v1/data")).andExpect(status().isOk()).andExpect(header().exists("ETag"));
+        mockMvc.perform(get("/api/v1/data")).andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(delete("/api/v1/admin/response-cache").param("path", "/api/v1/data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invalidated").value(1));
+        mockMvc.perform(get("/api/v1/data")).andExpect(status().isOk());
+
+        // Assert
+        verify(sampleService, times(2)).getData();
+    }
+
+    @Test
+    void invalidate_WithoutPath_ShouldDropEveryCachedResponse() throws Exception {
+        // Arrange
+        when(sampleService.getData()).thenReturn("Sample Data from Service");
+        mockMvc.perform(delete("/api/v1/admin/response-cache"));
+        mockMvc.perform(get("/api/v1/hello")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/data")).andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/admin/response-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invalidated").value(2));
+    }
+}
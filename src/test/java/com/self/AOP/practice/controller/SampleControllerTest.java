@@ -5,10 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -73,4 +84,71 @@ class SampleControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(expectedGreeting));
     }
+
+    @Test
+    void greetUserAsync_ShouldReturnGreetingFromAsyncService() throws Exception {
+        // Arrange
+        String expectedGreeting = "Hello, Rahul! Welcome to AOP Practice.";
+        when(sampleService.greetUserAsync("Rahul")).thenReturn(CompletableFuture.completedFuture(expectedGreeting));
+
+        // Act
+        var started = mockMvc.perform(get("/api/v1/greet/{name}/async", "Rahul"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedGreeting));
+    }
+
+    @Test
+    void greetBatch_ShouldStreamOneGreetingPerName() throws Exception {
+        // Arrange
+        when(sampleService.greetUser(anyString())).thenAnswer(invocation -> "Hello, " + invocation.getArgument(0) + "!");
+
+        // Act & Assert - blank lines are skipped, CRLF is accepted
+        mockMvc.perform(post("/api/v1/greet/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Rahul\r\n\nAlice\n  \nBob"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("Hello, Rahul!\nHello, Alice!\nHello, Bob!\n"));
+    }
+
+    @Test
+    void greetBatch_WithOverlongName_ShouldTruncateIt() throws Exception {
+        // Arrange
+        when(sampleService.greetUser(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        String longName = "x".repeat(SampleController.MAX_NAME_LENGTH + 100);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/greet/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(longName + "\nAlice\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("x".repeat(SampleController.MAX_NAME_LENGTH) + "\nAlice\n"));
+    }
+
+    @Test
+    void processDataStream_ShouldStreamTheServiceOutput() throws Exception {
+        // Arrange
+        when(sampleService.processDataStream(any(), any())).thenAnswer(invocation -> {
+            ReadableByteChannel input = invocation.getArgument(0);
+            WritableByteChannel output = invocation.getArgument(1);
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            long read = input.read(buffer);
+            buffer.flip();
+            output.write(buffer);
+            return read;
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/data/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("héllo".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("héllo"));
+    }
 }
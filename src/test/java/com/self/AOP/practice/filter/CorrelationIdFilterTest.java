@@ -1,5 +1,6 @@
 package com.self.AOP.practice.filter;
 
+import com.self.AOP.practice.logging.CorrelationContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -123,4 +125,115 @@ class CorrelationIdFilterTest {
         assertThrows(ServletException.class, () -> filter.doFilter(request, response, chain));
         assertNull(MDC.get("correlationId"), "MDC should be cleared even when exception occurs");
     }
+
+    @Test
+    void doFilter_WithOverlongCorrelationId_ShouldReplaceWithGeneratedId() throws IOException, ServletException {
+        // Arrange
+        String overlong = "a".repeat(65);
+        when(request.getHeader("X-CorrelationId")).thenReturn(overlong);
+        AtomicReference<String> seen = captureCorrelationId();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNotNull(seen.get());
+        assertNotEquals(overlong, seen.get());
+        assertEquals(36, seen.get().length());
+    }
+
+    @Test
+    void doFilter_WithInvalidCharacters_ShouldReplaceWithGeneratedId() throws IOException, ServletException {
+        // Arrange
+        when(request.getHeader("X-CorrelationId")).thenReturn("abc\n{\"forged\":1}");
+        AtomicReference<String> seen = captureCorrelationId();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(seen.get().matches("[0-9a-f-]{36}"), seen.get());
+    }
+
+    @Test
+    void doFilter_WithConfiguredGeneratorAndLimits_ShouldApplyThem() throws IOException, ServletException {
+        // Arrange
+        CorrelationIdProperties properties = new CorrelationIdProperties();
+        properties.setGenerator(CorrelationIdProperties.Generator.SNOWFLAKE);
+        properties.setMaxLength(8);
+        properties.setPattern("");
+        filter = new CorrelationIdFilter(properties);
+        when(request.getHeader("X-CorrelationId")).thenReturn("id with spaces but too long");
+        AtomicReference<String> seen = captureCorrelationId();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertTrue(seen.get().matches("[0-9a-f]{16}"), seen.get());
+    }
+
+    @Test
+    void doFilter_WithValidCorrelationId_ShouldPutItInMDC() throws IOException, ServletException {
+        // Arrange
+        when(request.getHeader("X-CorrelationId")).thenReturn("order-42.retry:1");
+        AtomicReference<String> seen = captureCorrelationId();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals("order-42.retry:1", seen.get());
+    }
+
+    @Test
+    void doFilter_ShouldBindTheIdToTheCorrelationContextAndUnbindItAfterwards() throws IOException, ServletException {
+        // Arrange
+        when(request.getHeader("X-CorrelationId")).thenReturn("order-42");
+        AtomicReference<String> seen = new AtomicReference<>();
+        doAnswer(invocation -> {
+            seen.set(CorrelationContext.get());
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals("order-42", seen.get());
+        assertNull(CorrelationContext.get());
+    }
+
+    @Test
+    void doFilter_WithoutMdcCompatibility_ShouldLeaveTheMdcAlone() throws IOException, ServletException {
+        // Arrange
+        CorrelationIdProperties properties = new CorrelationIdProperties();
+        properties.setMdcCompatible(false);
+        filter = new CorrelationIdFilter(properties);
+        when(request.getHeader("X-CorrelationId")).thenReturn("order-42");
+        AtomicReference<String> inMdc = new AtomicReference<>();
+        AtomicReference<String> inContext = new AtomicReference<>();
+        doAnswer(invocation -> {
+            inMdc.set(MDC.get("correlationId"));
+            inContext.set(CorrelationContext.get());
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNull(inMdc.get());
+        assertEquals("order-42", inContext.get());
+        assertNull(CorrelationContext.get());
+    }
+
+    private AtomicReference<String> captureCorrelationId() throws IOException, ServletException {
+        AtomicReference<String> seen = new AtomicReference<>();
+        doAnswer(invocation -> {
+            seen.set(MDC.get("correlationId"));
+            return null;
+        }).when(chain).doFilter(request, response);
+        return seen;
+    }
 }
@@ -0,0 +1,128 @@
+package com.self.AOP.practice.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CorrelationIdGenerator implementations.
+ * Verifies format, ordering and uniqueness under concurrent use.
+ */
+class CorrelationIdGeneratorTest {
+
+    @Test
+    void random_Generate_ShouldProduceVersion4Uuid() {
+        // Arrange
+        CorrelationIdGenerator generator = new RandomCorrelationIdGenerator();
+
+        // Act
+        String id = generator.generate();
+        UUID uuid = UUID.fromString(id);
+
+        // Assert
+        assertEquals(36, id.length());
+        assertEquals(uuid.toString(), id);
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void ulid_Generate_ShouldBeCrockfordBase32AndOrderedByTime() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UlidCorrelationIdGenerator generator = new UlidCorrelationIdGenerator(clock::get);
+
+        // Act
+        String first = generator.generate();
+        clock.addAndGet(1);
+        String second = generator.generate();
+
+        // Assert
+        assertTrue(first.matches("[0-9A-HJKMNP-TV-Z]{26}"), first);
+        assertEquals("01HF7YAT00", first.substring(0, 10));
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void snowflake_Generate_ShouldIncreaseWithinAndAcrossMilliseconds() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(SnowflakeCorrelationIdGenerator.EPOCH + 1_000);
+        SnowflakeCorrelationIdGenerator generator = new SnowflakeCorrelationIdGenerator(7, clock::get);
+
+        // Act
+        String previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 3_000 == 0) {
+                clock.addAndGet(i % 2 == 0 ? 1 : -5);
+            }
+            String next = generator.generate();
+
+            // Assert
+            assertEquals(16, next.length());
+            assertTrue(previous.compareTo(next) < 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void snowflake_NextId_ShouldEmbedNodeIdAndTimestamp() {
+        // Arrange
+        SnowflakeCorrelationIdGenerator generator =
+                new SnowflakeCorrelationIdGenerator(1023, () -> SnowflakeCorrelationIdGenerator.EPOCH + 5);
+
+        // Act
+        long id = generator.nextId();
+
+        // Assert
+        assertEquals(5, id >>> 22);
+        assertEquals(1023, (id >>> 12) & SnowflakeCorrelationIdGenerator.MAX_NODE_ID);
+        assertEquals(0, id & 0xFFF);
+    }
+
+    @Test
+    void snowflake_WithNodeIdOutOfRange_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeCorrelationIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeCorrelationIdGenerator(-1));
+    }
+
+    @Test
+    void generate_FromManyThreads_ShouldNotRepeat() throws InterruptedException {
+        // Arrange
+        CorrelationIdGenerator[] generators = {
+                new RandomCorrelationIdGenerator(),
+                new UlidCorrelationIdGenerator(),
+                new SnowflakeCorrelationIdGenerator(1)
+        };
+
+        for (CorrelationIdGenerator generator : generators) {
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            // Act
+            for (int t = 0; t < 4; t++) {
+                executor.execute(() -> {
+                    Set<String> local = new HashSet<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        local.add(generator.generate());
+                    }
+                    ids.addAll(local);
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(80_000, ids.size(), generator.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.self.AOP.practice.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResponseCacheFilter.
+ */
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private String body = "Sample Data from Service";
+
+    private final FilterChain chain = (request, response) -> {
+        calls.incrementAndGet();
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void doFilter_SecondRequest_ShouldServeStoredBytesWithoutCallingTheChain() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        MockHttpServletResponse first = perform(filter, get("/api/v1/data"));
+
+        // Act
+        MockHttpServletResponse second = perform(filter, get("/api/v1/data"));
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertEquals(200, second.getStatus());
+        assertEquals(body, second.getContentAsString());
+        assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+        assertTrue(second.getHeader("ETag").matches("\"[0-9a-f]{32}\""), second.getHeader("ETag"));
+        assertEquals("max-age=60", second.getHeader("Cache-Control"));
+        assertEquals("text/plain;charset=UTF-8", second.getContentType());
+        assertEquals(body.length(), second.getContentLength());
+    }
+
+    @Test
+    void doFilter_WithMatchingIfNoneMatch_ShouldAnswerNotModified() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        String etag = perform(filter, get("/api/v1/hello")).getHeader("ETag");
+        MockHttpServletRequest conditional = get("/api/v1/hello");
+        conditional.addHeader("If-None-Match", "\"other\", W/" + etag);
+
+        // Act
+        MockHttpServletResponse response = perform(filter, conditional);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, calls.get());
+        assertEquals(1, filter.snapshot().get("/api/v1/hello").notModified());
+    }
+
+    @Test
+    void doFilter_FirstRequestWithMatchingIfNoneMatch_ShouldAnswerNotModified() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        MockHttpServletRequest conditional = get("/api/v1/hello");
+        conditional.addHeader("If-None-Match", ResponseCacheFilter.etag(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        MockHttpServletResponse response = perform(filter, conditional);
+
+        // Assert - the controller ran once to fill the cache, but no body was sent
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void invalidate_ShouldMakeTheNextRequestReachTheChainWithTheNewBody() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        String oldEtag = perform(filter, get("/api/v1/data")).getHeader("ETag");
+        body = "Changed Data";
+
+        // Act
+        boolean invalidated = filter.invalidate("/api/v1/data");
+        MockHttpServletResponse response = perform(filter, get("/api/v1/data"));
+
+        // Assert
+        assertTrue(invalidated);
+        assertEquals(2, calls.get());
+        assertEquals("Changed Data", response.getContentAsString());
+        assertNotEquals(oldEtag, response.getHeader("ETag"));
+        assertEquals(1, filter.invalidateAll());
+    }
+
+    @Test
+    void invalidate_WhileResponseIsProduced_ShouldNotStoreTheStaleResponse() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        FilterChain invalidating = (request, response) -> {
+            chain.doFilter(request, response);
+            filter.invalidateAll();
+        };
+
+        // Act
+        filter.doFilter(get("/api/v1/data"), new MockHttpServletResponse(), invalidating);
+        perform(filter, get("/api/v1/data"));
+
+        // Assert
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_OtherPathsMethodsAndFailures_ShouldNotBeCached() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        MockHttpServletRequest post = get("/api/v1/data");
+        post.setMethod("POST");
+        MockHttpServletRequest query = get("/api/v1/data");
+        query.setQueryString("x=1");
+        FilterChain failing = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        };
+
+        // Act
+        perform(filter, get("/api/v1/greet/Rahul"));
+        perform(filter, get("/api/v1/greet/Rahul"));
+        perform(filter, post);
+        perform(filter, query);
+        filter.doFilter(get("/api/v1/hello"), new MockHttpServletResponse(), failing);
+        MockHttpServletResponse response = perform(filter, get("/api/v1/hello"));
+
+        // Assert
+        assertEquals(6, calls.get());
+        assertEquals(body, response.getContentAsString());
+        assertNull(filter.snapshot().get("/api/v1/data").etag());
+    }
+
+    @Test
+    void doFilter_NotAcceptedContentType_ShouldPassThrough() throws Exception {
+        // Arrange
+        ResponseCacheFilter filter = new ResponseCacheFilter();
+        perform(filter, get("/api/v1/data"));
+        MockHttpServletRequest json = get("/api/v1/data");
+        json.addHeader("Accept", "application/json");
+
+        // Act
+        perform(filter, json);
+
+        // Assert
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_WithZeroMaxAgeOrDisabled_ShouldBehaveAsConfigured() throws Exception {
+        // Arrange
+        ResponseCacheProperties noCache = new ResponseCacheProperties();
+        noCache.setMaxAge(Duration.ZERO);
+        noCache.setPaths(List.of("/api/v1/hello"));
+        ResponseCacheProperties disabled = new ResponseCacheProperties();
+        disabled.setEnabled(false);
+
+        // Act
+        MockHttpServletResponse revalidated = perform(new ResponseCacheFilter(noCache), get("/api/v1/hello"));
+        MockHttpServletResponse uncached = perform(new ResponseCacheFilter(disabled), get("/api/v1/hello"));
+
+        // Assert
+        assertEquals("no-cache", revalidated.getHeader("Cache-Control"));
+        assertNull(uncached.getHeader("ETag"));
+    }
+
+    private MockHttpServletResponse perform(ResponseCacheFilter filter, MockHttpServletRequest request)
+            throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -74,4 +76,19 @@ class AopIntegrationTest {
                         .header("X-CorrelationId", correlationId))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void dataEndpoint_WithCachedETag_ShouldAnswerNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/data"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/data")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
 }
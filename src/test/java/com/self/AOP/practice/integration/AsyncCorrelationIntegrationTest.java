@@ -0,0 +1,126 @@
+package com.self.AOP.practice.integration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.aspects.LoggingAspect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends thousands of concurrent requests to the async greeting endpoint, each with its own
+ * X-CorrelationId, and checks that the aspect's log line on the executor thread carries
+ * exactly that request's correlation ID. Runs on platform threads; see
+ * {@link AsyncCorrelationVirtualThreadsIntegrationTest} for the same test on virtual threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.shutdown=immediate")
+class AsyncCorrelationIntegrationTest {
+
+    private static final Pattern SERVICE_ENTRY =
+            Pattern.compile("Entering method: .*SampleService\\.greetUserAsync with arguments: \\[user-(\\d+)]");
+
+    @LocalServerPort
+    private int port;
+
+    private final Map<String, String> correlationIdByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> threadByUser = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> virtualByUser = new ConcurrentHashMap<>();
+    private final AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            Matcher matcher = SERVICE_ENTRY.matcher(event.getFormattedMessage());
+            if (matcher.matches()) {
+                // Read on the logging thread; the MDC is captured lazily
+                correlationIdByUser.put(matcher.group(1), String.valueOf(event.getMDCPropertyMap().get("correlationId")));
+                threadByUser.put(matcher.group(1), event.getThreadName());
+                virtualByUser.put(matcher.group(1), isVirtual(Thread.currentThread()));
+            }
+        }
+    };
+
+    private Logger aspectLogger;
+
+    @BeforeEach
+    void setUp() {
+        aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.detachAppender(capture);
+        capture.stop();
+    }
+
+    @Test
+    void greetUserAsync_UnderThousandsOfConcurrentRequests_ShouldKeepEachCorrelationId() throws Exception {
+        // Arrange
+        int requests = 2_000;
+        Semaphore inFlight = new Semaphore(200);
+        HttpClient client = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/greet/user-" + i + "/async"))
+                    .header("X-CorrelationId", "cid-" + i)
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        // Assert
+        for (int i = 0; i < requests; i++) {
+            HttpResponse<String> response = responses.get(i).get();
+            assertEquals(200, response.statusCode());
+            assertEquals("Hello, user-" + i + "! Welcome to AOP Practice.", response.body());
+        }
+        assertEquals(requests, correlationIdByUser.size());
+        for (int i = 0; i < requests; i++) {
+            String user = String.valueOf(i);
+            assertEquals("cid-" + i, correlationIdByUser.get(user), "correlation ID of user-" + i);
+            assertFalse(threadByUser.get(user).startsWith("http-nio"), "service ran on the request thread");
+            assertEquals(expectVirtualThreads(), virtualByUser.get(user), "virtual thread for user-" + i);
+        }
+    }
+
+    /**
+     * Whether the @Async executor is expected to run the service on virtual threads.
+     */
+    protected boolean expectVirtualThreads() {
+        return false;
+    }
+
+    // Thread.isVirtual() only exists from Java 21 on, and the tests are compiled for 17
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
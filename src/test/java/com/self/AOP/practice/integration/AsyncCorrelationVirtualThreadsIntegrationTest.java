@@ -0,0 +1,21 @@
+package com.self.AOP.practice.integration;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link AsyncCorrelationIntegrationTest} with 'spring.threads.virtual.enabled=true', so Tomcat and
+ * the @Async executor run on virtual threads. Spring Boot ignores the property below Java 21, so the
+ * test only runs on a Java 21+ runtime, e.g. {@code ./gradlew test -PtestJava=21}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.shutdown=immediate", "spring.threads.virtual.enabled=true"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+class AsyncCorrelationVirtualThreadsIntegrationTest extends AsyncCorrelationIntegrationTest {
+
+    @Override
+    protected boolean expectVirtualThreads() {
+        return true;
+    }
+}
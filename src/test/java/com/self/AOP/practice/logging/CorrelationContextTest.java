@@ -0,0 +1,99 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CorrelationContext and CorrelationIdConverter.
+ */
+class CorrelationContextTest {
+
+    @AfterEach
+    void tearDown() {
+        CorrelationContext.bind(null);
+        MDC.clear();
+    }
+
+    @Test
+    void bind_ShouldReturnThePreviousIdForRestoring() {
+        // Act
+        String first = CorrelationContext.bind("outer");
+        String second = CorrelationContext.bind("inner");
+        String inner = CorrelationContext.get();
+        CorrelationContext.bind(second);
+
+        // Assert
+        assertNull(first);
+        assertEquals("outer", second);
+        assertEquals("inner", inner);
+        assertEquals("outer", CorrelationContext.get());
+        assertNull(MDC.get("correlationId"));
+    }
+
+    @Test
+    void get_WithoutBoundId_ShouldFallBackToTheMdc() {
+        // Arrange
+        MDC.put("correlationId", "from-mdc");
+
+        // Act & Assert
+        assertEquals("from-mdc", CorrelationContext.get());
+        CorrelationContext.bind("bound");
+        assertEquals("bound", CorrelationContext.get());
+    }
+
+    @Test
+    void snapshot_ShouldRunWithTheCapturedContextAndRestoreTheOwnOne() throws InterruptedException {
+        // Arrange
+        CorrelationContext.bind("caller");
+        MDC.put("tenant", "acme");
+        CorrelationContext.Snapshot snapshot = CorrelationContext.capture();
+        AtomicReference<String> seen = new AtomicReference<>();
+        AtomicReference<String> after = new AtomicReference<>();
+
+        // Act
+        Thread worker = new Thread(() -> {
+            CorrelationContext.bind("worker");
+            snapshot.run(() -> seen.set(CorrelationContext.get() + "/" + MDC.get("tenant")));
+            after.set(CorrelationContext.get() + "/" + MDC.get("tenant"));
+        });
+        worker.start();
+        worker.join();
+
+        // Assert
+        assertEquals("caller/acme", seen.get());
+        assertEquals("worker/null", after.get());
+    }
+
+    @Test
+    void correlationIdConverter_ShouldPreferTheEventsMdcOverTheBoundId() {
+        // Arrange
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Logger logger = context.getLogger("test");
+        LoggingEvent withMdc = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "a", null, null);
+        withMdc.setMDCPropertyMap(Map.of("correlationId", "from-event"));
+        LoggingEvent withoutMdc = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "b", null, null);
+        withoutMdc.setMDCPropertyMap(Map.of());
+        CorrelationIdConverter converter = new CorrelationIdConverter();
+
+        // Act
+        String unbound = converter.convert(withoutMdc);
+        CorrelationContext.bind("bound");
+
+        // Assert
+        assertEquals("", unbound);
+        assertEquals("from-event", converter.convert(withMdc));
+        assertEquals("bound", converter.convert(withoutMdc));
+    }
+}
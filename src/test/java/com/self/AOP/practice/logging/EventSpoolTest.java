@@ -0,0 +1,229 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.self.AOP.practice.aspects.LoggingAspect;
+import com.self.AOP.practice.aspects.LoggingAspectBuilder;
+import com.self.AOP.practice.service.SampleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for EventSpool, reading the segments back with SpoolDecoder.
+ */
+class EventSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void record_ShouldWriteEventsThatDecodeBack() throws IOException {
+        // Arrange
+        EventSpool spool = new EventSpool(directory, 64 * 1024, 2);
+        int methodId = spool.register("com.example.Service", "greet", "Service.greet(..)");
+
+        // Act
+        spool.record(EventSpool.Status.ENTER, methodId, 1_000, 0, "cid-1");
+        spool.record(EventSpool.Status.EXIT, methodId, 5_000, 4_000, "cid-1");
+        spool.record(EventSpool.Status.ERROR, methodId, 9_000, 3_000, null);
+        spool.close();
+
+        // Assert
+        List<SpoolDecoder.Event> events = readAll();
+        assertEquals(3, events.size());
+        SpoolDecoder.Event exit = events.get(1);
+        assertEquals(EventSpool.Status.EXIT, exit.status());
+        assertEquals("com.example.Service", exit.className());
+        assertEquals("greet", exit.methodName());
+        assertEquals("Service.greet(..)", exit.shortSignature());
+        assertEquals(Thread.currentThread().getName(), exit.threadName());
+        assertEquals("cid-1", exit.correlationId());
+        assertEquals(4_000, exit.durationNanos());
+        assertEquals(4_000, Duration.between(events.get(0).time(), exit.time()).toNanos(), "nanoTime offsets are kept");
+        assertEquals("", events.get(2).correlationId());
+    }
+
+    @Test
+    void record_WhenSegmentsFill_ShouldRotateAndKeepNewestEvents() throws IOException {
+        // Arrange - 4 KiB segments hold a few dozen events each
+        EventSpool spool = new EventSpool(directory, 4 * 1024, 3);
+        int methodId = spool.register("com.example.Service", "tick", "Service.tick()");
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            spool.record(EventSpool.Status.EXIT, methodId, i, i, "cid-" + i);
+        }
+        spool.close();
+
+        // Assert - every segment is self-describing and the last event survived
+        List<Path> segments = SpoolDecoder.segments(directory);
+        assertEquals(3, segments.size());
+        for (Path segment : segments) {
+            assertTrue(SpoolDecoder.read(segment).stream().allMatch(event -> event.methodName().equals("tick")));
+        }
+        List<SpoolDecoder.Event> events = readAll();
+        assertEquals("cid-999", events.get(events.size() - 1).correlationId());
+        assertTrue(events.size() < 1_000, "oldest segments should have been overwritten");
+    }
+
+    @Test
+    void record_FromManyThreads_ShouldKeepEveryEventIntact() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 5_000;
+        EventSpool spool = new EventSpool(directory, 8 * 1024 * 1024, 2);
+        int methodId = spool.register("com.example.Service", "work", "Service.work(..)");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            String correlationId = "thread-" + t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    spool.record(EventSpool.Status.EXIT, methodId, System.nanoTime(), i, correlationId);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        spool.close();
+
+        // Assert
+        List<SpoolDecoder.Event> events = readAll();
+        assertEquals(threads * perThread, events.size());
+        for (int t = 0; t < threads; t++) {
+            String correlationId = "thread-" + t;
+            assertEquals(perThread, events.stream().filter(event -> event.correlationId().equals(correlationId)).count());
+        }
+    }
+
+    @Test
+    void constructor_WithExistingSegments_ShouldContinueTheSequence() throws IOException {
+        // Arrange
+        EventSpool first = new EventSpool(directory, 4 * 1024, 4);
+        first.record(EventSpool.Status.ENTER, first.register("A", "a", "A.a()"), 1, 0, "first-run");
+        first.close();
+
+        // Act
+        EventSpool second = new EventSpool(directory, 4 * 1024, 4);
+        second.record(EventSpool.Status.ENTER, second.register("B", "b", "B.b()"), 1, 0, "second-run");
+        second.close();
+
+        // Assert - the earlier run is kept and decoded first
+        List<SpoolDecoder.Event> events = readAll();
+        assertEquals(List.of("first-run", "second-run"),
+                events.stream().map(SpoolDecoder.Event::correlationId).toList());
+    }
+
+    @Test
+    void record_WhenNextSegmentCannotOpen_ShouldCountDropsAndRetryTheFollowingSegment() throws Exception {
+        // Arrange - a directory in place of the second segment file makes opening it fail
+        Files.createDirectory(directory.resolve(EventSpool.FILE_PREFIX + "1" + EventSpool.FILE_SUFFIX));
+        EventSpool spool = new EventSpool(directory, 4 * 1024, 3);
+        int methodId = spool.register("A", "a", "A.a()");
+        for (int i = 0; i < 200; i++) {
+            spool.record(EventSpool.Status.EXIT, methodId, i, 0, "full-" + i);
+        }
+        long dropped = spool.getDroppedCount();
+
+        // Act
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(EventSpool.RETRY_NANOS) + 100);
+        spool.record(EventSpool.Status.EXIT, methodId, 1_000, 0, "after");
+        spool.close();
+
+        // Assert
+        assertTrue(dropped > 0, "dropped " + dropped);
+        assertEquals(dropped, spool.getDroppedCount());
+        List<String> ids = readAll().stream().map(SpoolDecoder.Event::correlationId).toList();
+        assertTrue(ids.contains("full-0"), ids.toString());
+        assertEquals("after", ids.get(ids.size() - 1));
+    }
+
+    @Test
+    void record_AfterClose_ShouldBeIgnored() throws IOException {
+        // Arrange
+        EventSpool spool = new EventSpool(directory, 4 * 1024, 2);
+        int methodId = spool.register("A", "a", "A.a()");
+        spool.close();
+
+        // Act
+        spool.record(EventSpool.Status.ENTER, methodId, 1, 0, "late");
+
+        // Assert
+        assertTrue(readAll().isEmpty());
+    }
+
+    @Test
+    void loggingAspect_WithSpool_ShouldRecordEveryCallInsteadOfEntryExitLines() throws IOException {
+        // Arrange
+        // An ajc-compiled aspect cannot be applied through a proxy factory
+        assumeFalse(Arrays.stream(LoggingAspect.class.getDeclaredFields()).anyMatch(f -> f.getName().startsWith("ajc$")),
+                "proxy mode only");
+        EventSpool spool = new EventSpool(directory, 64 * 1024, 2);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.addAspect(new LoggingAspectBuilder().eventSpool(spool).build());
+        SampleService service = factory.getProxy();
+        List<String> lines = new CopyOnWriteArrayList<>();
+        Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        AppenderBase<ILoggingEvent> capture = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                lines.add(event.getFormattedMessage());
+            }
+        };
+        capture.setContext(aspectLogger.getLoggerContext());
+        capture.start();
+        aspectLogger.addAppender(capture);
+        MDC.put("correlationId", "cid-spool");
+
+        // Act
+        try {
+            service.processData("payload");
+        } finally {
+            MDC.clear();
+            aspectLogger.detachAppender(capture);
+            capture.stop();
+            spool.close();
+        }
+
+        // Assert
+        assertTrue(lines.isEmpty(), lines.toString());
+        List<SpoolDecoder.Event> events = readAll();
+        assertEquals(List.of(EventSpool.Status.ENTER, EventSpool.Status.EXIT),
+                events.stream().map(SpoolDecoder.Event::status).toList());
+        assertEquals("processData", events.get(1).methodName());
+        assertEquals("cid-spool", events.get(1).correlationId());
+    }
+
+    private List<SpoolDecoder.Event> readAll() throws IOException {
+        List<SpoolDecoder.Event> events = new ArrayList<>();
+        for (Path segment : SpoolDecoder.segments(directory)) {
+            events.addAll(SpoolDecoder.read(segment));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,166 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
+import net.logstash.logback.composite.loggingevent.LoggingEventPatternJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackTraceJsonProvider;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonLogEventEncoder.
+ * Every event is also encoded with the composite encoder setup it replaced
+ * and the two outputs must be byte-identical.
+ */
+class JsonLogEventEncoderTest {
+
+    private static final String HOST = "test-host";
+    private static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    private static final String TIMEZONE = "Asia/Kolkata";
+    private static final String PATTERN = "{\"host\":\"" + HOST + "\",\"level\":\"%level\",\"log\":{\"classname\":\"%logger:%line\","
+            + "\"message\":\"%replace(%replace('[X-CorrelationId:%X{correlationId}] %message'){'\\\\[X-CorrelationId:] ',''}){'null',''}%nopex\","
+            + "\"threadname\":\"%thread\"},\"process\":\"%method\",\"time\":\"%d{" + TIMESTAMP_PATTERN + ", " + TIMEZONE + "}\","
+            + "\"timezone\":\"" + TIMEZONE + "\",\"type\":\"log\"}";
+
+    private LoggerContext context;
+    private Logger logger;
+    private LoggingEventCompositeJsonEncoder reference;
+    private JsonLogEventEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("com.self.AOP.practice.service.SampleService");
+        reference = referenceEncoder();
+        encoder = new JsonLogEventEncoder();
+        encoder.setContext(context);
+        encoder.setHost(HOST);
+        encoder.setTimestampPattern(TIMESTAMP_PATTERN);
+        encoder.setTimezone(TIMEZONE);
+        encoder.setType("log");
+        encoder.setThrowableConverter(throwableConverter());
+        encoder.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.stop();
+        reference.stop();
+        context.stop();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Entering method: SampleService.greetUser with arguments: [Rahul]",
+            "Return value: null",
+            "nunullll and [null] and nullnull",
+            "quotes \" and backslash \\ and {braces}",
+            "line one\nline two\r\ttabbed\b\f and \u0001\u001f",
+            "unicode: नमस्ते, emoji 😀, lone surrogate \uD800",
+            "[X-CorrelationId:] already prefixed",
+            ""
+    })
+    void encode_WithAndWithoutCorrelationId_ShouldMatchCompositeEncoder(String message) {
+        // Arrange
+        ILoggingEvent withoutId = event(Level.INFO, message, Map.of(), null);
+        ILoggingEvent withId = event(Level.DEBUG, message, Map.of("correlationId", "3f2a-null-42"), null);
+        ILoggingEvent emptyId = event(Level.WARN, message, Map.of("correlationId", ""), null);
+
+        // Act & Assert
+        assertSameBytes(withoutId);
+        assertSameBytes(withId);
+        assertSameBytes(emptyId);
+    }
+
+    @Test
+    void encode_WithException_ShouldMatchCompositeEncoderIncludingStackTrace() {
+        // Arrange
+        IllegalStateException cause = new IllegalStateException("root \"cause\"");
+        ILoggingEvent event = event(Level.ERROR, "Method processData threw exception: boom",
+                Map.of("correlationId", "abc"), new RuntimeException("boom", cause));
+
+        // Act
+        String encoded = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        // Assert
+        assertSameBytes(event);
+        assertTrue(encoded.contains("\"stack_trace\":\""));
+    }
+
+    @Test
+    void encode_WithoutCallerData_ShouldMatchCompositeEncoder() {
+        // Arrange
+        LoggingEvent event = (LoggingEvent) event(Level.INFO, "no caller", Map.of(), null);
+        event.setCallerData(new StackTraceElement[0]);
+
+        // Act & Assert
+        assertSameBytes(event);
+        assertTrue(new String(encoder.encode(event), StandardCharsets.UTF_8).contains(":?\""));
+    }
+
+    @Test
+    void encode_AcrossSecondsAndMilliseconds_ShouldMatchCompositeEncoder() {
+        // Arrange
+        long base = 1_700_000_000_000L;
+
+        // Act & Assert
+        for (long offset : new long[]{0, 1, 999, 1000, 1001, 59_999, 60_000, 86_400_007, -1}) {
+            LoggingEvent event = (LoggingEvent) event(Level.INFO, "tick", Map.of(), null);
+            event.setTimeStamp(base + offset);
+            assertSameBytes(event);
+        }
+    }
+
+    private void assertSameBytes(ILoggingEvent event) {
+        String expected = new String(reference.encode(event), StandardCharsets.UTF_8);
+        String actual = new String(encoder.encode(event), StandardCharsets.UTF_8);
+        assertEquals(expected, actual);
+    }
+
+    private ILoggingEvent event(Level level, String message, Map<String, String> mdc, Throwable throwable) {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, level, message, throwable, null);
+        event.setMDCPropertyMap(mdc);
+        event.getCallerData();
+        return event;
+    }
+
+    private LoggingEventCompositeJsonEncoder referenceEncoder() {
+        LoggingEventPatternJsonProvider pattern = new LoggingEventPatternJsonProvider();
+        pattern.setPattern(PATTERN);
+        StackTraceJsonProvider stackTrace = new StackTraceJsonProvider();
+        stackTrace.setThrowableConverter(throwableConverter());
+        LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+        providers.addPattern(pattern);
+        providers.addStackTrace(stackTrace);
+        LoggingEventCompositeJsonEncoder composite = new LoggingEventCompositeJsonEncoder();
+        composite.setContext(context);
+        composite.setProviders(providers);
+        composite.start();
+        return composite;
+    }
+
+    private static ShortenedThrowableConverter throwableConverter() {
+        ShortenedThrowableConverter converter = new ShortenedThrowableConverter();
+        converter.setMaxDepthPerThrowable(30);
+        converter.setMaxLength(4096);
+        converter.setShortenedClassNameLength(35);
+        converter.setRootCauseFirst(true);
+        return converter;
+    }
+}
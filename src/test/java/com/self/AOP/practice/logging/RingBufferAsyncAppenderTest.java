@@ -0,0 +1,286 @@
+package com.self.AOP.practice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RingBufferAsyncAppender.
+ * Verifies delivery from many threads, the overflow policies and pass-through mode.
+ */
+class RingBufferAsyncAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private RingBufferAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("test");
+        appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("async");
+    }
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+        context.stop();
+    }
+
+    @Test
+    void append_FromManyThreads_ShouldDeliverEveryEventInOrderPerThread() throws InterruptedException {
+        // Arrange
+        ListAppender<ILoggingEvent> target = startTarget(new ListAppender<>());
+        appender.setBufferSize(64);
+        appender.setOverflowPolicy("BLOCK");
+        appender.addAppender(target);
+        appender.start();
+        int threads = 4;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    appender.doAppend(event(Level.INFO, thread + ":" + i));
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        appender.stop();
+
+        // Assert
+        assertEquals(threads * perThread, target.list.size());
+        assertEquals(0, appender.getDroppedCount());
+        int[] next = new int[threads];
+        for (ILoggingEvent event : target.list) {
+            String[] parts = event.getMessage().split(":");
+            int thread = Integer.parseInt(parts[0]);
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]));
+        }
+    }
+
+    @Test
+    void append_WhenFullWithDropDebugInfo_ShouldDropInfoButKeepWarn() throws InterruptedException {
+        // Arrange
+        BlockingAppender target = startTarget(new BlockingAppender());
+        appender.setBufferSize(4);
+        appender.setOverflowPolicy("DROP_DEBUG_INFO");
+        appender.addAppender(target);
+        appender.start();
+
+        // Act: the worker is stuck on the first event, so the buffer fills up
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.INFO, "info-" + i));
+        }
+        target.release.countDown();
+        appender.doAppend(event(Level.WARN, "warn"));
+        appender.stop();
+
+        // Assert
+        assertEquals(6, appender.getDroppedCount());
+        assertTrue(target.messages.contains("warn"));
+        assertEquals(6, target.messages.size());
+    }
+
+    @Test
+    void append_WhenFullWithDropOldest_ShouldKeepNewestEvents() throws InterruptedException {
+        // Arrange
+        BlockingAppender target = startTarget(new BlockingAppender());
+        appender.setBufferSize(4);
+        appender.setOverflowPolicy("DROP_OLDEST");
+        appender.addAppender(target);
+        appender.start();
+
+        // Act
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.INFO, "info-" + i));
+        }
+        target.release.countDown();
+        appender.stop();
+
+        // Assert
+        assertEquals(6, appender.getDroppedCount());
+        assertEquals(List.of("first", "info-6", "info-7", "info-8", "info-9"), target.messages);
+    }
+
+    @Test
+    void stop_WithBlockAndBlockedCallers_ShouldDeliverEveryEventWithinMaxFlushTime() throws Exception {
+        // Arrange
+        BlockingAppender target = startTarget(new BlockingAppender());
+        appender.setBufferSize(4);
+        appender.setOverflowPolicy("BLOCK");
+        appender.setMaxFlushTime(5_000);
+        appender.addAppender(target);
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.INFO, "queued-" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The buffer is full, so this caller waits for a slot
+            Future<?> blocked = executor.submit(() -> appender.doAppend(event(Level.INFO, "blocked")));
+            while (appender.getBlockedWaitCount() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // Act: stop while the worker is still stuck, then let it go before maxFlushTime
+            Future<?> stopped = executor.submit(appender::stop);
+            Thread.sleep(100);
+            target.release.countDown();
+            stopped.get(5, TimeUnit.SECONDS);
+            blocked.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(List.of("first", "queued-0", "queued-1", "queued-2", "queued-3", "blocked"),
+                target.messages);
+    }
+
+    @Test
+    void stop_WithBlockAndStuckAppender_ShouldGiveUpAfterMaxFlushTimeAndCountLostEvents() throws Exception {
+        // Arrange
+        BlockingAppender target = startTarget(new BlockingAppender());
+        appender.setBufferSize(4);
+        appender.setOverflowPolicy("BLOCK");
+        appender.setMaxFlushTime(100);
+        appender.addAppender(target);
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.INFO, "queued-" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> blocked = executor.submit(() -> appender.doAppend(event(Level.INFO, "blocked")));
+            while (appender.getBlockedWaitCount() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // Act: the worker never gets past the first event
+            long start = System.nanoTime();
+            executor.submit(appender::stop).get(5, TimeUnit.SECONDS);
+            long stopMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            blocked.get(5, TimeUnit.SECONDS);
+
+            // Assert - the four buffered events and the blocked caller's event are reported lost
+            assertTrue(stopMillis >= 100 && stopMillis < 2_000, "stop took " + stopMillis + " ms");
+            assertEquals(5, appender.getDroppedCount());
+        } finally {
+            target.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void append_WithAsyncDisabled_ShouldWriteOnCallingThread() {
+        // Arrange
+        ListAppender<ILoggingEvent> target = startTarget(new ListAppender<>());
+        appender.setAsync(false);
+        appender.addAppender(target);
+        appender.start();
+
+        // Act
+        appender.doAppend(event(Level.DEBUG, "sync"));
+
+        // Assert
+        assertEquals(1, target.list.size());
+        assertEquals(0, appender.getCapacity());
+    }
+
+    @Test
+    void append_Async_ShouldBindTheCallersCorrelationIdWhileAppending() throws InterruptedException {
+        // Arrange
+        List<String> seen = new CopyOnWriteArrayList<>();
+        AppenderBase<ILoggingEvent> target = startTarget(new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                seen.add(event.getMessage() + "=" + CorrelationContext.of(event, CorrelationContext.MDC_KEY));
+            }
+        });
+        appender.addAppender(target);
+        appender.start();
+
+        // Act
+        String previous = CorrelationContext.bind("cid-1");
+        try {
+            appender.doAppend(event(Level.INFO, "first"));
+            CorrelationContext.bind("cid-2");
+            appender.doAppend(event(Level.INFO, "second"));
+        } finally {
+            CorrelationContext.bind(previous);
+        }
+        appender.doAppend(event(Level.INFO, "third"));
+        appender.stop();
+
+        // Assert - read on the worker thread, which has no context of its own
+        assertEquals(List.of("first=cid-1", "second=cid-2", "third=null"), seen);
+    }
+
+    private <T extends AppenderBase<ILoggingEvent>> T startTarget(T target) {
+        target.setContext(context);
+        target.start();
+        return target;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    /**
+     * Blocks the worker on the first event until released.
+     */
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getMessage());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.self.AOP.practice.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpoolDecoder.
+ */
+class SpoolDecoderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void decode_ShouldWriteOneJsonLogLinePerEventInTheConsoleShape() throws IOException {
+        // Arrange
+        EventSpool spool = new EventSpool(directory, 64 * 1024, 2);
+        int methodId = spool.register("com.example.Service", "greet", "Service.greet(..)");
+        spool.record(EventSpool.Status.ENTER, methodId, 1_000, 0, "cid-7");
+        spool.record(EventSpool.Status.ERROR, methodId, 2_000, 1_000, "cid-7");
+        spool.close();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        SpoolDecoder.decode(directory, out, "UTC");
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"level\":\"INFO\",\"log\":{\"classname\":\"" + SpoolDecoder.LOGGER_NAME + ":"),
+                lines.get(0));
+        assertTrue(lines.get(0).contains("\"message\":\"'[X-CorrelationId:cid-7] Entering method: com.example.Service.greet'\""),
+                lines.get(0));
+        assertTrue(lines.get(0).contains("\"timezone\":\"UTC\""), lines.get(0));
+        assertTrue(lines.get(1).contains("\"level\":\"ERROR\""), lines.get(1));
+        assertTrue(lines.get(1).contains("Method Service.greet(..) failed after 1000 ns"), lines.get(1));
+        assertTrue(lines.get(1).contains("\"type\":\"log\""), lines.get(1));
+    }
+
+    @Test
+    void read_WithUnpublishedRecord_ShouldSkipItAndContinue() throws IOException {
+        // Arrange
+        EventSpool spool = new EventSpool(directory, 64 * 1024, 2);
+        int methodId = spool.register("A", "a", "A.a()");
+        spool.record(EventSpool.Status.ENTER, methodId, 1, 0, "first");
+        spool.record(EventSpool.Status.ENTER, methodId, 2, 0, "torn");
+        spool.record(EventSpool.Status.ENTER, methodId, 3, 0, "third");
+        spool.close();
+        Path segment = SpoolDecoder.segments(directory).get(0);
+        clearTagOf(segment, "torn");
+
+        // Act
+        List<SpoolDecoder.Event> events = SpoolDecoder.read(segment);
+
+        // Assert
+        assertEquals(List.of("first", "third"), events.stream().map(SpoolDecoder.Event::correlationId).toList());
+    }
+
+    @Test
+    void read_WithTornRecordInTheMiddle_ShouldDecodeTheRecordsAfterIt() throws IOException {
+        // Arrange
+        EventSpool spool = new EventSpool(directory, 64 * 1024, 2);
+        int methodId = spool.register("A", "a", "A.a()");
+        spool.record(EventSpool.Status.ENTER, methodId, 1, 0, "first");
+        spool.record(EventSpool.Status.ENTER, methodId, 2, 0, "torn");
+        spool.record(EventSpool.Status.EXIT, methodId, 3, 1, "third");
+        spool.record(EventSpool.Status.EXIT, methodId, 4, 2, "fourth");
+        spool.close();
+        Path segment = SpoolDecoder.segments(directory).get(0);
+        clearRecordOf(segment, "torn");
+
+        // Act
+        List<SpoolDecoder.Event> events = SpoolDecoder.read(segment);
+
+        // Assert
+        assertEquals(List.of("first", "third", "fourth"),
+                events.stream().map(SpoolDecoder.Event::correlationId).toList());
+    }
+
+    @Test
+    void segments_ShouldIgnoreFilesWithoutValidHeader() throws IOException {
+        // Arrange
+        Files.write(directory.resolve(EventSpool.FILE_PREFIX + "9" + EventSpool.FILE_SUFFIX), new byte[256]);
+        Files.writeString(directory.resolve("notes.txt"), "not a segment");
+
+        // Act & Assert
+        assertTrue(SpoolDecoder.segments(directory).isEmpty());
+        assertTrue(SpoolDecoder.segments(directory.resolve("missing")).isEmpty());
+    }
+
+    /**
+     * Simulates a writer that died after reserving a record, before writing its length word.
+     */
+    private static void clearRecordOf(Path segment, String correlationId) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int match = new String(bytes, StandardCharsets.ISO_8859_1).indexOf(correlationId);
+        int recordStart = match - EventSpool.EVENT_HEADER;
+        int length = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt(recordStart);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(length), recordStart);
+        }
+    }
+
+    /**
+     * Simulates a writer that died between reserving a record and publishing it.
+     */
+    private static void clearTagOf(Path segment, String correlationId) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int match = new String(bytes, StandardCharsets.ISO_8859_1).indexOf(correlationId);
+        int recordStart = match - EventSpool.EVENT_HEADER;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 0), recordStart + 4);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.self.AOP.practice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ * Verifies bucket precision, percentiles, interval reset and concurrent recording.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketIndex_ShouldStayWithinRelativeError() {
+        for (long value : new long[]{0, 1, 63, 64, 65, 127, 128, 1_000, 999_999, 123_456_789L, 3_600_000_000_000L}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long low = LatencyHistogram.lowestValueInBucket(index);
+            long high = LatencyHistogram.highestValueInBucket(index);
+
+            assertTrue(low <= value && value <= high, "value " + value + " outside [" + low + "," + high + "]");
+            assertTrue(high - low <= Math.max(0, value / 64), "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    void snapshot_ShouldReportPercentilesAndMax() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        // Act
+        LatencySnapshot snapshot = histogram.snapshot(false);
+
+        // Assert
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500, snapshot.getMean(), 0.001);
+        assertEquals(500_000, snapshot.getValueAtPercentile(50), 500_000 / 64.0);
+        assertEquals(990_000, snapshot.getValueAtPercentile(99), 990_000 / 64.0);
+        assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void snapshot_WithReset_ShouldStartNewInterval() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        histogram.record(5_000);
+
+        // Act
+        LatencySnapshot first = histogram.snapshot(true);
+        LatencySnapshot second = histogram.snapshot(false);
+
+        // Assert
+        assertEquals(1, first.getCount());
+        assertEquals(0, second.getCount());
+        assertEquals(0, second.getMax());
+    }
+
+    @Test
+    void record_FromManyThreads_ShouldNotLoseUpdates() throws InterruptedException {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram(8);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Assert
+        assertEquals((long) threads * perThread, histogram.snapshot(false).getCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.self.AOP.practice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for ResourceUsage, MethodResourceRegistry and ThreadResourceMeter.
+ */
+class ResourceUsageTest {
+
+    private static volatile Object sink;
+
+    @Test
+    void snapshot_ShouldReportTotalsMeansAndMaxima() {
+        // Arrange
+        ResourceUsage usage = new ResourceUsage();
+        usage.record(1_000, 100);
+        usage.record(3_000, 500);
+
+        // Act
+        ResourceUsageSummary summary = usage.snapshot(false);
+
+        // Assert
+        assertEquals(new ResourceUsageSummary(2, 0, 4_000, 2_000, 3_000, 0, 600, 300, 500), summary);
+    }
+
+    @Test
+    void snapshot_WithUnmeasurableCalls_ShouldCountThemApartFromTheMeans() {
+        // Arrange - e.g. CPU time on a virtual thread, where the JVM reports -1
+        ResourceUsage usage = new ResourceUsage();
+        usage.record(1_000, 100);
+        usage.record(3_000, 500);
+        usage.record(-1, 300);
+        usage.record(-1, -1);
+
+        // Act
+        ResourceUsageSummary summary = usage.snapshot(false);
+
+        // Assert
+        assertEquals(new ResourceUsageSummary(4, 2, 4_000, 2_000, 3_000, 1, 900, 300, 500), summary);
+    }
+
+    @Test
+    void snapshot_WithReset_ShouldStartANewInterval() {
+        // Arrange
+        MethodResourceRegistry registry = new MethodResourceRegistry();
+        registry.usageFor("Sample.method()").record(2_000, 64);
+
+        // Act
+        ResourceUsageSummary first = registry.snapshot(true).get("Sample.method()");
+        ResourceUsageSummary second = registry.snapshot(false).get("Sample.method()");
+
+        // Assert
+        assertEquals(1, first.count());
+        assertEquals(2_000, first.maxCpuNanos());
+        assertEquals(new ResourceUsageSummary(0, 0, 0, 0, 0, 0, 0, 0, 0), second);
+    }
+
+    @Test
+    void allocatedBytes_ShouldCountAnAllocationOfTheCurrentThread() {
+        // Arrange
+        ThreadResourceMeter meter = ThreadResourceMeter.create();
+        assumeTrue(meter.isAllocatedBytesSupported(), "JVM without thread allocation counters");
+        long before = meter.allocatedBytes();
+
+        // Act
+        sink = new byte[1 << 20];
+        long allocated = meter.allocatedBytes() - before;
+
+        // Assert
+        assertTrue(allocated >= 1 << 20 && allocated < 2 << 20, "allocated " + allocated);
+    }
+
+    @Test
+    void cpuTime_ShouldAdvanceWhileTheThreadComputes() {
+        // Arrange
+        ThreadResourceMeter meter = ThreadResourceMeter.create();
+        assumeTrue(meter.isCpuTimeSupported(), "JVM without thread CPU time");
+        long before = meter.cpuTime();
+
+        // Act
+        long x = 0;
+        long deadline = System.nanoTime() + 20_000_000;
+        while (System.nanoTime() < deadline) {
+            x += x * 31 + 7;
+        }
+        sink = x;
+        long cpu = meter.cpuTime() - before;
+
+        // Assert - the loop spun for 20 ms of wall time, most of it on the CPU
+        assertTrue(cpu > 5_000_000, "cpu " + cpu);
+    }
+}
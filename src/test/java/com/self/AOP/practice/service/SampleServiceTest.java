@@ -6,6 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -97,4 +105,88 @@ class SampleServiceTest {
         assertNotNull(result);
         assertEquals("Processed: TEST DATA", result);
     }
+
+    @Test
+    void greetUserAsync_WithValidName_ShouldCompleteWithGreeting() throws Exception {
+        // Act
+        String result = sampleService.greetUserAsync("Rahul").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("Hello, Rahul! Welcome to AOP Practice.", result);
+    }
+
+    @Test
+    void processDataStream_ShouldMatchProcessData() throws Exception {
+        // Arrange
+        String input = "test data, ".repeat(5_000);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long processed = sampleService.processDataStream(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), Channels.newChannel(output));
+
+        // Assert
+        assertEquals(bytes.length, processed);
+        assertEquals(sampleService.processData(input), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void processDataStream_WithCharactersSplitAcrossReads_ShouldDecodeThemWhole() throws Exception {
+        // Arrange - two, three and four byte characters; every read returns at most 5 bytes
+        String input = "é€\uD801\uDC28x".repeat(3_000);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long processed = sampleService.processDataStream(trickle(bytes, 5), Channels.newChannel(output));
+
+        // Assert - U+10428 DESERET SMALL LONG I upper-cases to U+10400
+        assertEquals(bytes.length, processed);
+        assertEquals("Processed: " + "É€\uD801\uDC00X".repeat(3_000), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void processDataStream_WithEmptyInput_ShouldWriteOnlyThePrefix() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long processed = sampleService.processDataStream(
+                Channels.newChannel(new ByteArrayInputStream(new byte[0])), Channels.newChannel(output));
+
+        // Assert
+        assertEquals(0, processed);
+        assertEquals("Processed: ", output.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A channel over the bytes that returns at most maxRead bytes per read.
+     */
+    private static ReadableByteChannel trickle(byte[] bytes, int maxRead) {
+        ByteBuffer source = ByteBuffer.wrap(bytes);
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(Math.min(maxRead, dst.remaining()), source.remaining());
+                ByteBuffer slice = source.slice();
+                slice.limit(count);
+                dst.put(slice);
+                source.position(source.position() + count);
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
 }